@@ -24,6 +24,12 @@ public class ArtifactCollector<T extends ArtifactType> extends TestWatcher {
     
     private static final Map<Description, List<ArtifactCollector<? extends ArtifactType>>> watcherMap =
                     new ConcurrentHashMap<>();
+    private static final ClassValue<Map<Class<?>, Path>> collectionPaths = new ClassValue<Map<Class<?>, Path>>() {
+        @Override
+        protected Map<Class<?>, Path> computeValue(Class<?> testClass) {
+            return new ConcurrentHashMap<>();
+        }
+    };
     
     private final T provider;
     private final Object instance;
@@ -64,6 +70,7 @@ public class ArtifactCollector<T extends ArtifactType> extends TestWatcher {
      * @return (optional) path at which the captured artifact was stored
      */
     public Optional<Path> captureArtifact(Throwable reason) {
+        Object event = JfrEvents.begin(JfrEvents.ARTIFACT_CAPTURE);
         if (! provider.canGetArtifact(instance)) {
             return Optional.empty();
         }
@@ -73,25 +80,20 @@ public class ArtifactCollector<T extends ArtifactType> extends TestWatcher {
             return Optional.empty();
         }
         
-        Path collectionPath = getCollectionPath();
-        if (!collectionPath.toFile().exists()) {
-            try {
-                Files.createDirectories(collectionPath);
-            } catch (IOException e) {
-                String messageTemplate = "Unable to create collection directory ({}); no artifact was captured";
-                provider.getLogger().warn(messageTemplate, collectionPath, e);
-                return Optional.empty();
-            }
+        Optional<Path> collectionPath = getCollectionPath();
+        if (!collectionPath.isPresent()) {
+            return Optional.empty();
         }
         
         Path artifactPath;
         try {
             artifactPath = PathUtils.getNextPath(
-                            collectionPath, 
+                            collectionPath.get(), 
                             getArtifactBaseName(), 
                             provider.getArtifactExtension());
         } catch (IOException e) {
             provider.getLogger().warn("Unable to get output path; no artifact was captured", e);
+            evictCollectionPath();
             return Optional.empty();
         }
         
@@ -100,21 +102,52 @@ public class ArtifactCollector<T extends ArtifactType> extends TestWatcher {
             Files.write(artifactPath, artifact);
         } catch (IOException e) {
             provider.getLogger().warn("I/O error saving to ({}); no artifact was captured", artifactPath, e);
+            evictCollectionPath();
             return Optional.empty();
         }
         
         recordArtifactPath(artifactPath);
+        RunStatistics.artifactCaptured();
+        if (event != null) {
+            JfrEvents.commit(event, description.getClassName(), description.getMethodName(),
+                            provider.getClass().getName(), artifactPath.toString(), (long) artifact.length);
+        }
         return Optional.of(artifactPath);
     }
     
     /**
-     * Get path of directory at which to store artifacts.
+     * Get path of directory at which to store artifacts, creating the directory if needed.
+     * <p>
+     * <b>NOTE</b>: The collection path is resolved and its directory created on the first capture for each
+     * combination of test class and artifact type. Subsequent captures reuse the cached path, skipping both path
+     * resolution and the file system check.
      * 
-     * @return path of artifact storage directory
+     * @return (optional) path of artifact storage directory; empty if the directory couldn't be created
      */
-    private Path getCollectionPath() {
-        Path collectionPath = PathUtils.ReportsDirectory.getPathForObject(instance);
-        return collectionPath.resolve(provider.getArtifactPath(instance));
+    private Optional<Path> getCollectionPath() {
+        Map<Class<?>, Path> classPaths = collectionPaths.get(instance.getClass());
+        Path collectionPath = classPaths.get(provider.getClass());
+        if (collectionPath == null) {
+            collectionPath = PathUtils.ReportsDirectory.getPathForObject(instance)
+                            .resolve(provider.getArtifactPath(instance));
+            try {
+                Files.createDirectories(collectionPath);
+            } catch (IOException e) {
+                String messageTemplate = "Unable to create collection directory ({}); no artifact was captured";
+                provider.getLogger().warn(messageTemplate, collectionPath, e);
+                return Optional.empty();
+            }
+            classPaths.put(provider.getClass(), collectionPath);
+        }
+        return Optional.of(collectionPath);
+    }
+    
+    /**
+     * Forget the cached collection path for this test class and artifact type. The path will be resolved and its
+     * directory created again on the next capture (e.g. - if the directory was deleted).
+     */
+    private void evictCollectionPath() {
+        collectionPaths.get(instance.getClass()).remove(provider.getClass());
     }
     
     /**
@@ -180,6 +213,23 @@ public class ArtifactCollector<T extends ArtifactType> extends TestWatcher {
         return description;
     }
     
+    /**
+     * Get the paths of artifacts captured by all of the watchers associated with the described method.
+     * 
+     * @param description JUnit method description object
+     * @return list of artifact paths; empty if no artifacts were captured
+     */
+    public static List<Path> getArtifactPaths(Description description) {
+        List<Path> paths = new ArrayList<>();
+        List<ArtifactCollector<? extends ArtifactType>> watcherList = watcherMap.get(description);
+        if (watcherList != null) {
+            for (ArtifactCollector<? extends ArtifactType> watcher : watcherList) {
+                paths.addAll(watcher.artifactPaths);
+            }
+        }
+        return paths;
+    }
+    
     /**
      * Get reference to an instance of the specified watcher type associated with the described method.
      * 
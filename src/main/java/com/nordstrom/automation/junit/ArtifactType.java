@@ -96,6 +96,9 @@ public interface ArtifactType {
     
     /**
      * Get the path at which to store artifacts.
+     * <br><br>
+     * <b>NOTE</b>: {@link ArtifactCollector} resolves this path once for each test class and caches it, so the
+     * returned path should be determined by the class of the specified instance.
      * 
      * @param instance JUnit test class instance
      * @return artifact storage path
@@ -0,0 +1,222 @@
+package com.nordstrom.automation.junit;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.LockSupport;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.nordstrom.automation.junit.JUnitConfig.JUnitSettings;
+
+/**
+ * This class delivers watcher notifications asynchronously, so that slow watchers don't add their latency to the
+ * tests they observe. Delivery is asynchronous for watchers whose classes are marked with the {@link AsyncWatcher}
+ * annotation or are listed in the {@link JUnitSettings#ASYNC_WATCHERS ASYNC_WATCHERS} setting; all other watchers are
+ * notified inline on the test thread.
+ * <p>
+ * Each asynchronous watcher gets a bounded lock-free ring buffer (sized by the
+ * {@link JUnitSettings#ASYNC_BUFFER_SIZE ASYNC_BUFFER_SIZE} setting) and a dedicated daemon thread that delivers its
+ * notifications in the order they were posted. If a buffer is full, the posting thread waits for space, so no
+ * notifications are lost. An idle delivery thread blocks until a notification is posted for it. When the outermost
+ * runner finishes, and when the JVM shuts down, posted notifications are flushed to their watchers. If a delivery
+ * thread dies, subsequent notifications for its watcher are delivered synchronously on the posting thread.
+ * <p>
+ * <b>NOTE</b>: Asynchronous watchers are notified after the fact, on a different thread. They must not rely on the
+ * state of the test thread (e.g. - {@link RunReflectiveCall#getAtomicTestFor(org.junit.runners.model.TestClass)}),
+ * and exceptions they throw are logged instead of being propagated to the test.
+ */
+public final class AsyncDelivery {
+    
+    private static final long FLUSH_TIMEOUT = TimeUnit.SECONDS.toNanos(60);
+    private static final long IDLE_NANOS = TimeUnit.MICROSECONDS.toNanos(50);
+    private static final Logger LOGGER = LoggerFactory.getLogger(AsyncDelivery.class);
+    private static final Set<String> CONFIGURED = getConfiguredWatchers();
+    private static final Map<Object, Subscriber> SUBSCRIBERS = new ConcurrentHashMap<>();
+    private static final ClassValue<Boolean> ASYNC_TYPES = new ClassValue<Boolean>() {
+        @Override
+        protected Boolean computeValue(Class<?> type) {
+            return type.isAnnotationPresent(AsyncWatcher.class) || CONFIGURED.contains(type.getName());
+        }
+    };
+    
+    static {
+        Runtime.getRuntime().addShutdownHook(LifecycleHooks.getShutdownHook(AsyncDelivery::flush));
+    }
+    
+    private AsyncDelivery() {
+        throw new AssertionError("AsyncDelivery is a static utility class that cannot be instantiated");
+    }
+    
+    /**
+     * Determine if notifications for the specified watcher are delivered asynchronously.
+     * 
+     * @param watcher watcher object
+     * @return {@code true} if the watcher is asynchronous; otherwise {@code false}
+     */
+    static boolean isAsync(Object watcher) {
+        return ASYNC_TYPES.get(watcher.getClass());
+    }
+    
+    /**
+     * Post a notification for asynchronous delivery to the specified watcher.
+     * 
+     * @param watcher watcher object
+     * @param notification notification to deliver
+     */
+    static void post(Object watcher, Runnable notification) {
+        SUBSCRIBERS.computeIfAbsent(watcher, Subscriber::new).post(notification);
+    }
+    
+    /**
+     * Wait for all notifications posted so far to be delivered to their watchers.
+     */
+    public static void flush() {
+        long deadline = System.nanoTime() + FLUSH_TIMEOUT;
+        for (Subscriber subscriber : SUBSCRIBERS.values()) {
+            if (!subscriber.awaitDelivery(deadline)) {
+                LOGGER.warn("Unable to complete asynchronous delivery to watcher: {}", subscriber.name);
+            }
+        }
+    }
+    
+    /**
+     * Deliver the specified notification on the current thread, logging any exception it throws.
+     * 
+     * @param name watcher class name
+     * @param notification notification to deliver
+     */
+    private static void deliver(String name, Runnable notification) {
+        try {
+            notification.run();
+        } catch (Throwable t) {
+            LOGGER.warn("Asynchronous watcher failed: {}", name, t);
+        }
+    }
+    
+    /**
+     * Get the names of the watcher classes configured for asynchronous delivery.
+     * 
+     * @return set of watcher class names
+     */
+    private static Set<String> getConfiguredWatchers() {
+        String watchers = JUnitConfig.getConfig().getString(JUnitSettings.ASYNC_WATCHERS.key(), "");
+        Set<String> names = new HashSet<>(Arrays.asList(watchers.trim().split("\\s*,\\s*")));
+        names.remove("");
+        return names;
+    }
+    
+    /**
+     * This class holds the ring buffer and delivery thread of an asynchronous watcher.
+     */
+    private static class Subscriber implements Runnable {
+        private final String name;
+        private final int mask;
+        private final Runnable[] buffer;
+        private final AtomicLongArray sequences;
+        private final AtomicLong tail = new AtomicLong();
+        private final Thread consumer;
+        private volatile long head;
+        private volatile boolean waiting;
+        private volatile boolean alive = true;
+        
+        Subscriber(Object watcher) {
+            this.name = watcher.getClass().getName();
+            int requested = JUnitConfig.getConfig().getInt(JUnitSettings.ASYNC_BUFFER_SIZE.key(), 8192);
+            int capacity = Integer.highestOneBit(Math.max(requested, 2) - 1) << 1;
+            this.mask = capacity - 1;
+            this.buffer = new Runnable[capacity];
+            this.sequences = new AtomicLongArray(capacity);
+            for (int i = 0; i < capacity; i++) {
+                sequences.set(i, i);
+            }
+            consumer = new Thread(this, "junit-async-" + watcher.getClass().getSimpleName());
+            consumer.setDaemon(true);
+            consumer.start();
+        }
+        
+        /**
+         * Add the specified notification to the ring buffer, waiting for space if the buffer is full. If the delivery
+         * thread has died, the notification is delivered synchronously instead.
+         * 
+         * @param notification notification to deliver
+         */
+        void post(Runnable notification) {
+            while (alive) {
+                long position = tail.get();
+                int index = (int) position & mask;
+                long available = sequences.get(index) - position;
+                if (available == 0) {
+                    if (tail.compareAndSet(position, position + 1)) {
+                        buffer[index] = notification;
+                        // volatile write orders the publication before the check of the waiting flag
+                        sequences.set(index, position + 1);
+                        if (waiting) {
+                            LockSupport.unpark(consumer);
+                        }
+                        return;
+                    }
+                } else if (available < 0) {
+                    // buffer is full; wait for the consumer to catch up
+                    LockSupport.parkNanos(IDLE_NANOS);
+                }
+            }
+            deliver(name, notification);
+        }
+        
+        /**
+         * Deliver posted notifications to the watcher until the JVM exits, blocking while the buffer is empty.
+         */
+        @Override
+        public void run() {
+            try {
+                long position = head;
+                while (true) {
+                    int index = (int) position & mask;
+                    if (sequences.get(index) == position + 1) {
+                        Runnable notification = buffer[index];
+                        buffer[index] = null;
+                        sequences.lazySet(index, position + mask + 1);
+                        deliver(name, notification);
+                        head = ++position;
+                    } else {
+                        waiting = true;
+                        // check again after advertising, so a notification posted in between isn't missed
+                        if (sequences.get(index) != position + 1) {
+                            LockSupport.park(this);
+                        }
+                        waiting = false;
+                    }
+                }
+            } finally {
+                alive = false;
+                LOGGER.error("Delivery thread died; notifications will be delivered synchronously to watcher: {}",
+                                name);
+            }
+        }
+        
+        /**
+         * Wait for the notifications posted so far to be delivered.
+         * 
+         * @param deadline {@link System#nanoTime()} value at which to stop waiting
+         * @return {@code true} if all notifications were delivered; {@code false} if the deadline was reached or the
+         *         delivery thread died
+         */
+        boolean awaitDelivery(long deadline) {
+            long target = tail.get();
+            while (head < target) {
+                if (!alive || (System.nanoTime() - deadline > 0)) {
+                    return false;
+                }
+                LockSupport.parkNanos(IDLE_NANOS);
+            }
+            return true;
+        }
+    }
+}
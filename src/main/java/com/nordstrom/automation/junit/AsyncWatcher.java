@@ -0,0 +1,23 @@
+package com.nordstrom.automation.junit;
+
+import static java.lang.annotation.ElementType.TYPE;
+import static java.lang.annotation.RetentionPolicy.RUNTIME;
+
+import java.lang.annotation.Retention;
+import java.lang.annotation.Target;
+
+/**
+ * Use this annotation to mark {@link RunWatcher}, {@link TestClassWatcher}, and {@link MethodWatcher} implementations
+ * whose notifications should be delivered asynchronously, on a dedicated thread, instead of on the test thread:
+ * 
+ * <blockquote><pre>
+ * &#64;AsyncWatcher
+ * public class DashboardWatcher implements RunWatcher {
+ *     // watcher implementation goes here
+ * }</pre></blockquote>
+ * 
+ * @see AsyncDelivery
+ */
+@Retention(RUNTIME)
+@Target(TYPE)
+public @interface AsyncWatcher { }
@@ -2,7 +2,13 @@ package com.nordstrom.automation.junit;
 
 import static com.nordstrom.automation.junit.LifecycleHooks.invoke;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
 
 import org.junit.After;
 import org.junit.AfterClass;
@@ -21,17 +27,30 @@ import org.junit.runners.model.TestClass;
 @Ignore
 @SuppressWarnings("all")
 public class AtomicTest {
+    private static final Map<Object, Particles> RUNNER_TO_PARTICLES = Collections.synchronizedMap(new WeakHashMap<>());
+    
     private final Object runner;
     private final TestClass testClass;
     private final FrameworkMethod identity;
-    private final List<FrameworkMethod> particles;
-    private Throwable thrown;
+    private final Particles particles;
+    private volatile Throwable thrown;
 
     public AtomicTest(Object runner, TestClass testClass, FrameworkMethod testMethod) {
         this.runner = runner;
         this.testClass = testClass;
         this.identity = testMethod;
-        this.particles = invoke(runner, "getChildren");
+        this.particles = getParticlesOf(runner);
+    }
+    
+    /**
+     * Get the particles snapshot for the specified runner. One immutable snapshot is shared by all of the atomic
+     * tests of each runner.
+     * 
+     * @param runner {@code BlockJUnit4ClassRunner} object
+     * @return particles snapshot for the specified runner
+     */
+    private static Particles getParticlesOf(Object runner) {
+        return RUNNER_TO_PARTICLES.computeIfAbsent(runner, key -> new Particles(invoke(key, "getChildren")));
     }
 
     /**
@@ -67,7 +86,7 @@ public class AtomicTest {
      * @return list of methods that compose this atomic test
      */
     public List<FrameworkMethod> getParticles() {
-        return particles;
+        return particles.list;
     }
 
     /**
@@ -76,7 +95,7 @@ public class AtomicTest {
      * @return {@code true} if this atomic test includes configuration; otherwise {@code false}
      */
     public boolean hasConfiguration() {
-        return (particles.size() > 1);
+        return (particles.list.size() > 1);
     }
     
     /**
@@ -104,6 +123,19 @@ public class AtomicTest {
      * @return {@code true} if this atomic test includes the specified method; otherwise {@code false}
      */
     public boolean includes(FrameworkMethod method) {
-        return particles.contains(method);
+        return particles.set.contains(method);
+    }
+    
+    /**
+     * This class is an immutable snapshot of the children of a runner, with a set view for membership checks.
+     */
+    private static class Particles {
+        private final List<FrameworkMethod> list;
+        private final Set<FrameworkMethod> set;
+        
+        Particles(List<FrameworkMethod> children) {
+            this.list = Collections.unmodifiableList(new ArrayList<>(children));
+            this.set = Collections.unmodifiableSet(new HashSet<>(children));
+        }
     }
 }
@@ -0,0 +1,350 @@
+package com.nordstrom.automation.junit;
+
+import static com.nordstrom.automation.junit.LifecycleHooks.getFieldValue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.runner.Description;
+import org.junit.runner.manipulation.Filter;
+import org.junit.runner.manipulation.Filterable;
+import org.junit.runner.manipulation.NoTestsRemainException;
+import org.junit.runner.notification.Failure;
+import org.junit.runner.notification.RunListener;
+import org.junit.runner.notification.RunNotifier;
+import org.junit.runners.model.FrameworkMethod;
+
+import com.nordstrom.automation.junit.JUnitConfig.JUnitSettings;
+
+/**
+ * This is a static utility class that determines the order in which the children of a parent runner are run, and
+ * which of these children are run at all. Ordering and selection are based on the historical test durations
+ * recorded by {@link TestDurations} and the recent failures tracked by {@link RecentFailures}:
+ * <ul>
+ *     <li><b>failed-first</b>: If {@link JUnitSettings#FAILED_FIRST FAILED_FIRST} is set, test methods that failed
+ *     recently are run before all others.</li>
+ *     <li><b>longest-first</b>: If {@link JUnitSettings#LONGEST_FIRST LONGEST_FIRST} is set, test methods are run in
+ *     order of descending historical duration. Tests with no recorded duration are run first.</li>
+ *     <li><b>sharding</b>: If {@link JUnitSettings#SHARD_COUNT SHARD_COUNT} is greater than one, only test methods
+ *     assigned to the shard specified by {@link JUnitSettings#SHARD_INDEX SHARD_INDEX} are run. Recorded tests are
+ *     assigned to shards longest-first, each to the shard with the smallest total duration. Tests with no recorded
+ *     duration are assigned by the hash of their names.</li>
+ * </ul>
+ * Shard assignments depend only on the content of the timing file, so every JVM that reads the same file computes
+ * the same assignments.
+ * <p>
+ * If {@link JUnitSettings#IMPACT_SELECT IMPACT_SELECT} is set, only test classes affected by changed application
+ * classes are run (see {@link TestImpact}).
+ * <p>
+ * Sharding and impact selection are applied as a {@link Filter} to each runner before its description is produced
+ * (see {@link #select(Object)}), so the descriptions only list the selected tests, and classes with no selected
+ * tests don't run their class-level configuration methods.
+ * <p>
+ * If {@link JUnitSettings#FAIL_FAST FAIL_FAST} is greater than zero, the run is stopped once the specified number of
+ * tests have failed. Failures are counted per run, by a listener attached to the run notifier when the outermost
+ * runner starts, so fail-fast doesn't depend on the registration of any run watcher.
+ * <p>
+ * The ordering and fail-fast settings are read once per run, when the outermost runner starts.
+ */
+final class ChildOrdering {
+    
+    private static final Map<Integer, Map<String, Integer>> SHARD_ASSIGNMENTS = new ConcurrentHashMap<>();
+    private static final Map<Object, Boolean> SELECTED = Collections.synchronizedMap(new WeakHashMap<>());
+    private static final Map<RunNotifier, FailureCounter> COUNTERS = Collections.synchronizedMap(new WeakHashMap<>());
+    private static volatile Settings settings;
+    
+    private ChildOrdering() {
+        throw new AssertionError("ChildOrdering is a static utility class that cannot be instantiated");
+    }
+    
+    /**
+     * Determine if ordering of children is active.
+     * 
+     * @return {@code true} if children must be ordered; otherwise {@code false}
+     */
+    static boolean isActive() {
+        Settings current = getSettings();
+        return current.failedFirst || current.longestFirst;
+    }
+    
+    /**
+     * Prepare for a new run through the specified notifier. This reads the ordering and fail-fast settings, and
+     * resets the failure count of the notifier.
+     * <p>
+     * <b>NOTE</b>: This method is invoked when the outermost runner of a run starts.
+     * 
+     * @param notifier run notifier of the outermost runner
+     */
+    static void runStarted(final RunNotifier notifier) {
+        Settings current = new Settings();
+        settings = current;
+        if (current.failFast > 0) {
+            synchronized (COUNTERS) {
+                FailureCounter counter = COUNTERS.get(notifier);
+                if (counter == null) {
+                    counter = new FailureCounter();
+                    COUNTERS.put(notifier, counter);
+                    notifier.addListener(counter);
+                }
+                counter.failures.set(0);
+            }
+        }
+    }
+    
+    /**
+     * Apply the configured test selection to the specified runner, if it hasn't been applied already.
+     * <p>
+     * <b>NOTE</b>: If none of the tests of the runner are selected, the runner is left with no children. A runner
+     * with no children doesn't run its class-level configuration methods.
+     * 
+     * @param runner {@link org.junit.runners.ParentRunner ParentRunner} object
+     */
+    static void select(final Object runner) {
+        int shardCount = getShardCount();
+        boolean selectByImpact = TestImpact.isSelectEnabled();
+        if (((shardCount <= 1) && !selectByImpact) || !(runner instanceof Filterable)) {
+            return;
+        }
+        if (SELECTED.putIfAbsent(runner, Boolean.TRUE) != null) {
+            return;
+        }
+        try {
+            ((Filterable) runner).filter(new SelectionFilter(shardCount, getShardIndex(), selectByImpact));
+        } catch (NoTestsRemainException e) {
+            // nothing to do here
+        }
+    }
+    
+    /**
+     * Order the specified child statements of a parent runner.
+     * 
+     * @param runner parent runner
+     * @param childStatements child statements in their original order
+     * @return child statements in their run order
+     */
+    static List<Runnable> apply(final Object runner, final List<Runnable> childStatements) {
+        List<Runnable> ordered = new ArrayList<>(childStatements);
+        Map<Runnable, String> testNames = new HashMap<>();
+        for (Runnable childStatement : childStatements) {
+            Object child = RunReflectiveCall.getChildOf(childStatement);
+            if (child instanceof FrameworkMethod) {
+                testNames.put(childStatement,
+                                TestDurations.getTestName(LifecycleHooks.describeChildOf(runner, child)));
+            }
+        }
+        
+        Settings current = getSettings();
+        Comparator<Runnable> order = null;
+        if (current.failedFirst) {
+            order = Comparator.comparingInt(childStatement -> {
+                String testName = testNames.get(childStatement);
+                return ((testName != null) && RecentFailures.hasRecentlyFailed(testName)) ? 0 : 1;
+            });
+        }
+        if (current.longestFirst) {
+            // unrecorded tests first, then by descending duration
+            Comparator<Runnable> longestFirst = Comparator.comparingLong(childStatement -> {
+                String testName = testNames.get(childStatement);
+                long duration = (testName != null) ? TestDurations.getHistoricalDuration(testName) : -1;
+                return (duration < 0) ? Long.MIN_VALUE : -duration;
+            });
+            order = (order != null) ? order.thenComparing(longestFirst) : longestFirst;
+        }
+        if (order != null) {
+            // stable sort retains original order of equivalent children
+            Collections.sort(ordered, order);
+        }
+        
+        return ordered;
+    }
+    
+    /**
+     * Determine if the configured fail-fast limit has been reached in the current run, requesting that the run stop
+     * if so.
+     * <p>
+     * <b>NOTE</b>: The run is stopped by requesting that the run notifier of the specified child statement stop.
+     * The notifier will refuse to start any further tests in this run. The caller is expected to skip the specified
+     * child statement and throw {@link org.junit.runner.notification.StoppedByUserException StoppedByUserException}
+     * from the thread of the parent runner once its scheduled children are done.
+     * 
+     * @param childStatement child statement that's about to be run
+     * @return {@code true} if the fail-fast limit has been reached; otherwise {@code false}
+     */
+    static boolean checkFailFast(final Runnable childStatement) {
+        int failFast = getSettings().failFast;
+        if (failFast <= 0) {
+            return false;
+        }
+        RunNotifier notifier;
+        try {
+            notifier = getFieldValue(childStatement, "val$notifier");
+        } catch (IllegalAccessException | NoSuchFieldException | SecurityException e) {
+            return false;
+        }
+        FailureCounter counter = COUNTERS.get(notifier);
+        if ((counter != null) && (counter.failures.get() >= failFast)) {
+            notifier.pleaseStop();
+            return true;
+        }
+        return false;
+    }
+    
+    /**
+     * Get the shard to which the specified test is assigned.
+     * 
+     * @param testName test name (see {@link TestDurations#getTestName(Description)})
+     * @param shardCount number of shards
+     * @return shard index for the specified test
+     */
+    static int getShardFor(final String testName, final int shardCount) {
+        Map<String, Integer> assignments =
+                        SHARD_ASSIGNMENTS.computeIfAbsent(shardCount, ChildOrdering::assignShards);
+        Integer shard = assignments.get(testName);
+        if (shard != null) {
+            return shard;
+        }
+        return (testName.hashCode() & Integer.MAX_VALUE) % shardCount;
+    }
+    
+    /**
+     * Assign recorded tests to the specified number of shards, balancing the total duration of each shard.
+     * 
+     * @param shardCount number of shards
+     * @return map of test names to shard indexes
+     */
+    private static Map<String, Integer> assignShards(final int shardCount) {
+        List<Map.Entry<String, Long>> entries = new ArrayList<>(TestDurations.getHistory().entrySet());
+        Collections.sort(entries, Comparator.<Map.Entry<String, Long>>comparingLong(Map.Entry::getValue)
+                        .reversed().thenComparing(Map.Entry::getKey));
+        
+        long[] loads = new long[shardCount];
+        Map<String, Integer> assignments = new HashMap<>();
+        for (Map.Entry<String, Long> entry : entries) {
+            int target = 0;
+            for (int i = 1; i < shardCount; i++) {
+                if (loads[i] < loads[target]) {
+                    target = i;
+                }
+            }
+            loads[target] += entry.getValue();
+            assignments.put(entry.getKey(), target);
+        }
+        return assignments;
+    }
+    
+    /**
+     * Get the ordering and fail-fast settings of the current run.
+     * 
+     * @return settings read when the outermost runner started; current settings if no run has started
+     */
+    private static Settings getSettings() {
+        Settings current = settings;
+        if (current == null) {
+            current = new Settings();
+            settings = current;
+        }
+        return current;
+    }
+    
+    /**
+     * Get the configured number of shards.
+     * 
+     * @return number of shards
+     */
+    private static int getShardCount() {
+        return Math.max(JUnitConfig.getConfig().getInt(JUnitSettings.SHARD_COUNT.key(), 1), 1);
+    }
+    
+    /**
+     * Get the configured index of the shard to run.
+     * 
+     * @return shard index
+     */
+    private static int getShardIndex() {
+        return JUnitConfig.getConfig().getInt(JUnitSettings.SHARD_INDEX.key(), 0);
+    }
+    
+    /**
+     * This class holds the ordering and fail-fast settings of a run.
+     */
+    private static class Settings {
+        private final boolean failedFirst;
+        private final boolean longestFirst;
+        private final int failFast;
+        
+        Settings() {
+            JUnitConfig config = JUnitConfig.getConfig();
+            failedFirst = config.getBoolean(JUnitSettings.FAILED_FIRST.key(), false);
+            longestFirst = config.getBoolean(JUnitSettings.LONGEST_FIRST.key(), false);
+            failFast = config.getInt(JUnitSettings.FAIL_FAST.key(), 0);
+        }
+    }
+    
+    /**
+     * This run listener counts the failed tests of the runs published through the notifier it's attached to.
+     */
+    @RunListener.ThreadSafe
+    private static class FailureCounter extends RunListener {
+        private final AtomicInteger failures = new AtomicInteger();
+        
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public void testFailure(final Failure failure) {
+            failures.incrementAndGet();
+        }
+    }
+    
+    /**
+     * This filter selects the tests assigned to the specified shard, optionally limited to the tests of classes that
+     * are affected by changed application classes.
+     */
+    private static class SelectionFilter extends Filter {
+        private final int shardCount;
+        private final int shardIndex;
+        private final boolean selectByImpact;
+        
+        SelectionFilter(final int shardCount, final int shardIndex, final boolean selectByImpact) {
+            this.shardCount = shardCount;
+            this.shardIndex = shardIndex;
+            this.selectByImpact = selectByImpact;
+        }
+        
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public boolean shouldRun(final Description description) {
+            if (description.getMethodName() != null) {
+                if (selectByImpact && !TestImpact.isAffected(description.getTestClass())) {
+                    return false;
+                }
+                return (shardCount <= 1)
+                                || (getShardFor(TestDurations.getTestName(description), shardCount) == shardIndex);
+            }
+            for (Description child : description.getChildren()) {
+                if (shouldRun(child)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+        
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public String describe() {
+            String shard = "shard " + shardIndex + " of " + shardCount;
+            return selectByImpact ? "affected tests of " + shard : shard;
+        }
+    }
+}
@@ -0,0 +1,144 @@
+package com.nordstrom.automation.junit;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.runners.model.RunnerScheduler;
+import org.junit.runners.model.TestClass;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.nordstrom.automation.junit.JUnitConfig.JUnitSettings;
+import com.nordstrom.common.base.UncheckedThrow;
+
+/**
+ * This runner scheduler runs the child statements of a test class concurrently, on a fixed pool of platform threads.
+ * The size of the pool, which is the number of children of each test class that run concurrently, is specified by the
+ * {@link JUnitSettings#CLASS_CONCURRENCY CLASS_CONCURRENCY} setting.
+ * <p>
+ * This scheduler is enabled by the {@link JUnitSettings#CONCURRENT_CHILDREN CONCURRENT_CHILDREN} setting. The pool is
+ * created when the first child is scheduled, and it's shut down when the children finish, so the runner can be run
+ * again.
+ */
+class ConcurrentChildScheduler implements RunnerScheduler {
+    
+    private static final Logger LOGGER = LoggerFactory.getLogger(ConcurrentChildScheduler.class);
+    private static final long TERMINATION_TIMEOUT = 30;
+    
+    private final TestClass testClass;
+    private final int concurrency;
+    private final List<Future<?>> futures = new ArrayList<>();
+    private ExecutorService executor;
+    
+    /**
+     * Constructor: Create a scheduler for the children of the specified test class.
+     * 
+     * @param testClass {@link TestClass} object whose children will be scheduled
+     * @param concurrency maximum number of children that may run concurrently
+     */
+    ConcurrentChildScheduler(final TestClass testClass, final int concurrency) {
+        this.testClass = testClass;
+        this.concurrency = concurrency;
+    }
+    
+    /**
+     * Determine if the concurrent child scheduler is enabled.
+     * 
+     * @return {@code true} if the concurrent child scheduler is enabled; otherwise {@code false}
+     */
+    static boolean isEnabled() {
+        return JUnitConfig.getConfig().getBoolean(JUnitSettings.CONCURRENT_CHILDREN.key(), false);
+    }
+    
+    /**
+     * Get the configured maximum number of concurrent children per test class.
+     * 
+     * @return maximum number of concurrent children per test class
+     */
+    static int getConcurrency() {
+        int concurrency = JUnitConfig.getConfig().getInt(JUnitSettings.CLASS_CONCURRENCY.key(), 16);
+        return Math.max(concurrency, 1);
+    }
+    
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public synchronized void schedule(final Runnable childStatement) {
+        if (executor == null) {
+            executor = Executors.newFixedThreadPool(concurrency);
+        }
+        futures.add(executor.submit(childStatement));
+    }
+    
+    /**
+     * {@inheritDoc}
+     * <p>
+     * <b>NOTE</b>: This method waits for every scheduled child to finish before it returns, even if some of them
+     * fail. If any child terminated abnormally, the first such failure is rethrown once the pool is shut down, with
+     * the others attached as suppressed exceptions. If the waiting thread is interrupted, the running children are
+     * interrupted too, and the pool is drained before the interruption is propagated.
+     */
+    @Override
+    public void finished() {
+        List<Future<?>> scheduled;
+        ExecutorService pool;
+        synchronized (this) {
+            scheduled = new ArrayList<>(futures);
+            pool = executor;
+            futures.clear();
+            executor = null;
+        }
+        
+        Throwable failure = null;
+        try {
+            for (Future<?> future : scheduled) {
+                try {
+                    future.get();
+                } catch (ExecutionException e) {
+                    LOGGER.warn("Child of test class ({}) terminated abnormally", testClass.getName(), e.getCause());
+                    if (failure == null) {
+                        failure = e.getCause();
+                    } else {
+                        failure.addSuppressed(e.getCause());
+                    }
+                }
+            }
+        } catch (InterruptedException e) {
+            if (pool != null) {
+                pool.shutdownNow();
+                awaitTermination(pool);
+            }
+            Thread.currentThread().interrupt();
+            throw UncheckedThrow.throwUnchecked(e);
+        } finally {
+            if (pool != null) {
+                pool.shutdown();
+            }
+        }
+        
+        if (failure != null) {
+            throw UncheckedThrow.throwUnchecked(failure);
+        }
+    }
+    
+    /**
+     * Wait for the children that are still running in the specified pool to respond to interruption.
+     * 
+     * @param pool executor service that has been shut down
+     */
+    private void awaitTermination(ExecutorService pool) {
+        try {
+            if (!pool.awaitTermination(TERMINATION_TIMEOUT, TimeUnit.SECONDS)) {
+                LOGGER.warn("Children of test class ({}) didn't respond to interruption", testClass.getName());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
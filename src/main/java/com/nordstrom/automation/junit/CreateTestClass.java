@@ -3,17 +3,26 @@ package com.nordstrom.automation.junit;
 import static com.nordstrom.automation.junit.LifecycleHooks.getFieldValue;
 import static com.nordstrom.automation.junit.LifecycleHooks.setFieldValue;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 import java.util.ServiceLoader;
+import java.util.Set;
 import java.util.concurrent.Callable;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
 
+import org.junit.runner.notification.StoppedByUserException;
+import org.junit.runners.BlockJUnit4ClassRunner;
+import org.junit.runners.ParentRunner;
+import org.junit.runners.model.FrameworkMethod;
 import org.junit.runners.model.RunnerScheduler;
 import org.junit.runners.model.TestClass;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import net.bytebuddy.implementation.bind.annotation.Argument;
 import net.bytebuddy.implementation.bind.annotation.SuperCall;
 import net.bytebuddy.implementation.bind.annotation.This;
 
@@ -27,6 +36,13 @@ public class CreateTestClass {
     private static final Logger LOGGER = LoggerFactory.getLogger(CreateTestClass.class);
     private static final Map<TestClass, Object> TESTCLASS_TO_RUNNER = new ConcurrentHashMap<>();
     private static final Map<Object, TestClass> METHOD_TO_TESTCLASS = new ConcurrentHashMap<>();
+    private static final ClassValue<AtomicReference<TestClass>> TESTCLASS_CACHE =
+                    new ClassValue<AtomicReference<TestClass>>() {
+        @Override
+        protected AtomicReference<TestClass> computeValue(Class<?> type) {
+            return new AtomicReference<>();
+        }
+    };
     
     static {
         classWatcherLoader = ServiceLoader.load(TestClassWatcher.class);
@@ -34,24 +50,43 @@ public class CreateTestClass {
     
     /**
      * Interceptor for the {@link org.junit.runners.ParentRunner#createTestClass createTestClass} method.
+     * <p>
+     * <b>NOTE</b>: The annotated members of each Java class are scanned only once. Subsequent runners for the same
+     * class (e.g. - one per parameter set of a {@link org.junit.runners.Parameterized Parameterized} class) reuse the
+     * {@link TestClass} object created for the first runner. {@link TestClass} objects are immutable, and they're
+     * equal if their Java classes are equal, so sharing them doesn't change how they're matched to runners.
      * 
      * @param runner underlying test runner
+     * @param javaClass Java class for which the test class is being created
      * @param proxy callable proxy for the intercepted method
      * @return new {@link TestClass} object
      * @throws Exception {@code anything} (exception thrown by the intercepted method)
      */
-    public static TestClass intercept(@This final Object runner, @SuperCall final Callable<?> proxy)
-                    throws Exception {
+    public static TestClass intercept(@This final Object runner, @Argument(0) final Class<?> javaClass,
+                    @SuperCall final Callable<?> proxy) throws Exception {
+        
+        TestClass testClass = (javaClass != null) ? TESTCLASS_CACHE.get(javaClass).get() : null;
+        if (testClass == null) {
+            testClass = (TestClass) LifecycleHooks.callProxy(proxy);
+            // only plain test classes are cached; subclasses may extend the scan
+            if ((javaClass != null) && (testClass.getClass() == TestClass.class)) {
+                TESTCLASS_CACHE.get(javaClass).compareAndSet(null, testClass);
+            }
+        }
         
-        TestClass testClass = (TestClass) LifecycleHooks.callProxy(proxy);
         TESTCLASS_TO_RUNNER.put(testClass, runner);
         
         for (Object method : testClass.getAnnotatedMethods()) {
             METHOD_TO_TESTCLASS.put(method, testClass);
         }
         
+        final TestClass createdClass = testClass;
         for (TestClassWatcher watcher : classWatcherLoader) {
-            watcher.testClassCreated(testClass, runner);
+            if (AsyncDelivery.isAsync(watcher)) {
+                AsyncDelivery.post(watcher, () -> watcher.testClassCreated(createdClass, runner));
+            } else {
+                watcher.testClassCreated(testClass, runner);
+            }
         }
         
         attachRunnerScheduler(testClass, runner);
@@ -60,14 +95,21 @@ public class CreateTestClass {
     
     /**
      * Attach lifecycle-reporting runner scheduler to the specified parent runner.
+     * <p>
+     * <b>NOTE</b>: If the specified runner already has a lifecycle-reporting scheduler, this method has no effect.
+     * Otherwise, the attached scheduler wraps the runner's current scheduler. This enables notifications for
+     * runners whose scheduler gets replaced after construction (e.g. - by {@link org.junit.experimental.ParallelComputer
+     * ParallelComputer}).
      * 
-     * @param testClass {@link TestClass} object that was just created
+     * @param testClass {@link TestClass} object for the specified runner
      * @param runner {@link ParentRunner} for the specified test class
      */
-    private static void attachRunnerScheduler(final TestClass testClass, final Object runner) {
+    static void attachRunnerScheduler(final TestClass testClass, final Object runner) {
         try {
             RunnerScheduler scheduler = getFieldValue(runner, "scheduler");
-            setFieldValue(runner, "scheduler", createRunnerScheduler(testClass, scheduler));
+            if ( ! (scheduler instanceof NotifyingScheduler)) {
+                setFieldValue(runner, "scheduler", createRunnerScheduler(testClass, runner, scheduler));
+            }
         } catch (IllegalAccessException | NoSuchFieldException | SecurityException | IllegalArgumentException e) {
             LOGGER.warn("Unable to attach notifying runner scheduler", e);
         }
@@ -75,39 +117,152 @@ public class CreateTestClass {
     
     /**
      * Create notifying runner scheduler, which forwards to the previous scheduler if specified.
+     * <p>
+     * <b>NOTE</b>: If the {@link ConcurrentChildScheduler concurrent child scheduler} is enabled, it replaces the default
+     * scheduler of test class runners. Schedulers that were explicitly specified (e.g. - by
+     * {@link org.junit.experimental.ParallelComputer ParallelComputer}) are retained.
      * 
      * @param testClass {@link TestClass} object that was just created
+     * @param runner {@link ParentRunner} for the specified test class
      * @param scheduler runner scheduler that's currently attached to the specified runner (may be {@code null})
      * @return new notifying runner scheduler
      */
-    private static RunnerScheduler createRunnerScheduler(final TestClass testClass, final RunnerScheduler scheduler) {
-        return new RunnerScheduler() {
-            private AtomicBoolean scheduled = new AtomicBoolean(false);
+    private static RunnerScheduler createRunnerScheduler(final TestClass testClass, final Object runner,
+                    final RunnerScheduler scheduler) {
+        RunnerScheduler delegate = scheduler;
+        if ((runner instanceof BlockJUnit4ClassRunner) && isDefaultScheduler(scheduler)
+                        && ConcurrentChildScheduler.isEnabled()) {
+            delegate = new ConcurrentChildScheduler(testClass, ConcurrentChildScheduler.getConcurrency());
+        }
+        return new NotifyingScheduler(testClass, runner, delegate);
+    }
+    
+    /**
+     * Determine if the specified scheduler is the default scheduler assigned by {@link ParentRunner}.
+     * 
+     * @param scheduler runner scheduler (may be {@code null})
+     * @return {@code true} if the specified scheduler is the default; otherwise {@code false}
+     */
+    private static boolean isDefaultScheduler(final RunnerScheduler scheduler) {
+        return (scheduler == null) || (scheduler.getClass().getEnclosingClass() == ParentRunner.class);
+    }
+    
+    /**
+     * This runner scheduler publishes test class and atomic test lifecycle notifications. Atomic test notifications
+     * are sent from the thread that runs each child, which keeps them correct when children run concurrently. As each
+     * child is scheduled, its link to the parent runner is recorded.
+     * <p>
+     * If {@link ChildOrdering child ordering} is active, child statements are held until the parent runner has
+     * scheduled all of them. They're then ordered, selected, and forwarded when the runner reports that scheduling
+     * has finished.
+     */
+    private static class NotifyingScheduler implements RunnerScheduler {
+        private final TestClass testClass;
+        private final Object runner;
+        private final RunnerScheduler scheduler;
+        private List<Runnable> pending;
+        private final AtomicBoolean scheduled = new AtomicBoolean(false);
+        private final AtomicBoolean stopped = new AtomicBoolean(false);
+        private boolean started;
+        
+        NotifyingScheduler(final TestClass testClass, final Object runner, final RunnerScheduler scheduler) {
+            this.testClass = testClass;
+            this.runner = runner;
+            this.scheduler = scheduler;
+        }
+        
+        @Override
+        public void schedule(final Runnable childStatement) {
+            if (!started) {
+                // ordering settings are read when the outermost run starts
+                started = true;
+                pending = ChildOrdering.isActive() ? new ArrayList<>() : null;
+            }
             
-            public void schedule(Runnable childStatement) {
-                if (scheduled.compareAndSet(false, true)) {
-                    for (TestClassWatcher watcher : classWatcherLoader) {
+            if (scheduled.compareAndSet(false, true)) {
+                for (TestClassWatcher watcher : classWatcherLoader) {
+                    if (AsyncDelivery.isAsync(watcher)) {
+                        AsyncDelivery.post(watcher, () -> watcher.testClassStarted(testClass));
+                    } else {
                         watcher.testClassStarted(testClass);
                     }
                 }
-                
-                RunReflectiveCall.fireTestStarted(testClass, childStatement);
-                
-                if (scheduler != null) {
-                    scheduler.schedule(childStatement);
-                } else {
-                    childStatement.run();
-                }
-                
-                RunReflectiveCall.fireTestFinished(testClass);
             }
+            
+            Object child = RunReflectiveCall.getChildOf(childStatement);
+            if (child != null) {
+                LifecycleHooks.Run.setParentOf(child, runner);
+            }
+            
+            if (pending != null) {
+                pending.add(childStatement);
+            } else {
+                dispatch(childStatement);
+            }
+        }
 
-            public void finished() {
+        @Override
+        public void finished() {
+            try {
+                if (pending != null) {
+                    for (Runnable childStatement : ChildOrdering.apply(runner, pending)) {
+                        dispatch(childStatement);
+                    }
+                }
+                if (scheduler != null) {
+                    scheduler.finished();
+                }
+                // stop the run from the thread of this runner once the scheduled children are done
+                if (stopped.getAndSet(false)) {
+                    throw new StoppedByUserException();
+                }
+            } finally {
+                started = false;
+                pending = null;
                 for (TestClassWatcher watcher : classWatcherLoader) {
-                    watcher.testClassFinished(testClass);
+                    if (AsyncDelivery.isAsync(watcher)) {
+                        AsyncDelivery.post(watcher, () -> watcher.testClassFinished(testClass));
+                    } else {
+                        watcher.testClassFinished(testClass);
+                    }
+                }
+                if (InvocationBatcher.isEnabled()) {
+                    InvocationBatcher.flush();
                 }
             }
-        };
+        }
+        
+        /**
+         * Forward the specified child statement to the underlying scheduler, wrapped to publish atomic test
+         * notifications.
+         * 
+         * @param childStatement child statement of the parent runner
+         */
+        private void dispatch(final Runnable childStatement) {
+            Runnable notifyingStatement = new Runnable() {
+                @Override
+                public void run() {
+                    if (ChildOrdering.checkFailFast(childStatement)) {
+                        stopped.set(true);
+                        return;
+                    }
+                    Set<String> dependencies = TestImpact.enterTestClass(testClass);
+                    AtomicTest atomicTest = RunReflectiveCall.fireTestStarted(testClass, childStatement);
+                    try {
+                        childStatement.run();
+                    } finally {
+                        RunReflectiveCall.fireTestFinished(atomicTest);
+                        TestImpact.exitTestClass(dependencies);
+                    }
+                }
+            };
+            
+            if (scheduler != null) {
+                scheduler.schedule(notifyingStatement);
+            } else {
+                notifyingStatement.run();
+            }
+        }
     }
     
     /**
@@ -0,0 +1,533 @@
+package com.nordstrom.automation.junit;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+import org.junit.internal.AssumptionViolatedException;
+import org.junit.runners.model.FrameworkMethod;
+import org.junit.runners.model.TestClass;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.nordstrom.automation.junit.JUnitConfig.JUnitSettings;
+import com.nordstrom.common.file.PathUtils;
+
+/**
+ * This watcher records every lifecycle event as a fixed-size binary record in the memory-mapped file specified by the
+ * {@link JUnitSettings#JOURNAL_FILE JOURNAL_FILE} setting. Each record holds the elapsed nanoseconds since the journal
+ * was opened, the ID of the thread that produced the event, the event type, and interned IDs of the event subject and
+ * its test class. Each thread claims its own chunk of the journal and fills it without locking, so recording adds no
+ * contention and no garbage. If the journal fills up, subsequent events are counted and dropped.
+ * <p>
+ * The names for the interned IDs are written to a companion file (with a <b>.names</b> suffix) when the JVM shuts
+ * down, or when {@link #flush()} is called. Journals are decoded with {@link #read(Path, Consumer)}.
+ * <p>
+ * To record the journal, declare this class in the <b>META-INF/services</b> provider configuration files for
+ * {@link RunWatcher}, {@link MethodWatcher}, and {@link TestClassWatcher}.
+ */
+public class EventJournal implements RunWatcher, MethodWatcher, TestClassWatcher {
+
+    /** magic number that identifies journal files ("JFJ1") */
+    public static final int MAGIC = 0x4A464A31;
+    /** size of the journal header in bytes */
+    public static final int HEADER_SIZE = 64;
+    /** size of each journal record in bytes */
+    public static final int RECORD_SIZE = 32;
+
+    private static final int VERSION = 1;
+    private static final int CHUNK_SIZE = RECORD_SIZE * 1024;
+    private static final int LIMIT_OFFSET = 24;
+    private static final int FLAG_THROWN = 1;
+    private static final String NAMES_SUFFIX = ".names";
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(EventJournal.class);
+    private static final Map<Object, Integer> SUBJECT_IDS = new ConcurrentHashMap<>();
+    private static final Map<Integer, String> NAMES = new ConcurrentHashMap<>();
+    private static final AtomicInteger NEXT_ID = new AtomicInteger();
+    private static final AtomicLong NEXT_CHUNK = new AtomicLong(HEADER_SIZE);
+    private static final AtomicLong DROPPED = new AtomicLong();
+    private static final ThreadLocal<ByteBuffer> CHUNK = new ThreadLocal<>();
+    private static final long START_NANOS = System.nanoTime();
+    private static volatile MappedByteBuffer journal;
+    private static Path journalFile;
+    private static boolean opened;
+
+    /**
+     * This enumeration defines the types of events recorded in the journal.
+     */
+    public enum EventType {
+        /** {@link TestClassWatcher#testClassCreated(TestClass, Object)} */
+        TEST_CLASS_CREATED,
+        /** {@link TestClassWatcher#testClassStarted(TestClass)} */
+        TEST_CLASS_STARTED,
+        /** {@link TestClassWatcher#testClassFinished(TestClass)} */
+        TEST_CLASS_FINISHED,
+        /** {@link RunWatcher#testStarted(FrameworkMethod, TestClass)} */
+        TEST_STARTED,
+        /** {@link RunWatcher#testFinished(FrameworkMethod, TestClass)} */
+        TEST_FINISHED,
+        /** {@link RunWatcher#testFailure(FrameworkMethod, TestClass, Throwable)} */
+        TEST_FAILURE,
+        /** {@link RunWatcher#testAssumptionFailure(FrameworkMethod, TestClass, AssumptionViolatedException)} */
+        TEST_ASSUMPTION_FAILURE,
+        /** {@link RunWatcher#testIgnored(FrameworkMethod, TestClass)} */
+        TEST_IGNORED,
+        /** {@link MethodWatcher#beforeInvocation(Object, FrameworkMethod, Object...)} */
+        BEFORE_INVOCATION,
+        /** {@link MethodWatcher#afterInvocation(Object, FrameworkMethod, Throwable)} */
+        AFTER_INVOCATION;
+
+        private static final EventType[] VALUES = values();
+
+        /**
+         * Get the binary code for this event type.
+         *
+         * @return event type code (never 0)
+         */
+        int code() {
+            return ordinal() + 1;
+        }
+
+        /**
+         * Get the event type for the specified binary code.
+         *
+         * @param code event type code
+         * @return event type; {@code null} if the code is unknown
+         */
+        static EventType of(int code) {
+            return (code > 0 && code <= VALUES.length) ? VALUES[code - 1] : null;
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void testClassCreated(TestClass testClass, Object runner) {
+        append(EventType.TEST_CLASS_CREATED, null, testClass, 0);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void testClassStarted(TestClass testClass) {
+        append(EventType.TEST_CLASS_STARTED, null, testClass, 0);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void testClassFinished(TestClass testClass) {
+        append(EventType.TEST_CLASS_FINISHED, null, testClass, 0);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void testStarted(FrameworkMethod method, TestClass testClass) {
+        append(EventType.TEST_STARTED, method, testClass, 0);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void testFinished(FrameworkMethod method, TestClass testClass) {
+        append(EventType.TEST_FINISHED, method, testClass, 0);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void testFailure(FrameworkMethod method, TestClass testClass, Throwable thrown) {
+        append(EventType.TEST_FAILURE, method, testClass, FLAG_THROWN);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void testAssumptionFailure(FrameworkMethod method, TestClass testClass,
+                    AssumptionViolatedException thrown) {
+        append(EventType.TEST_ASSUMPTION_FAILURE, method, testClass, FLAG_THROWN);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void testIgnored(FrameworkMethod method, TestClass testClass) {
+        append(EventType.TEST_IGNORED, method, testClass, 0);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void beforeInvocation(Object target, FrameworkMethod method, Object... params) {
+        append(EventType.BEFORE_INVOCATION, method, null, 0);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void afterInvocation(Object target, FrameworkMethod method, Throwable thrown) {
+        append(EventType.AFTER_INVOCATION, method, null, (thrown != null) ? FLAG_THROWN : 0);
+    }
+
+    /**
+     * Get the number of events that were dropped because the journal was full.
+     *
+     * @return count of dropped events
+     */
+    public static long getDroppedCount() {
+        return DROPPED.get();
+    }
+
+    /**
+     * Write the journal limit and the interned names, and force the journal contents to storage.
+     */
+    public static synchronized void flush() {
+        MappedByteBuffer buffer = journal;
+        if (buffer == null) {
+            return;
+        }
+
+        buffer.putLong(LIMIT_OFFSET, Math.min(NEXT_CHUNK.get(), buffer.capacity()));
+        buffer.force();
+
+        Path namesFile = Paths.get(journalFile.toString() + NAMES_SUFFIX);
+        List<String> lines = new ArrayList<>();
+        for (Map.Entry<Integer, String> entry : new TreeMap<>(NAMES).entrySet()) {
+            lines.add(entry.getKey() + "\t" + entry.getValue());
+        }
+
+        try {
+            Path tempFile = Files.createTempFile(namesFile.toAbsolutePath().getParent(), "junit-events", ".tmp");
+            Files.write(tempFile, lines, StandardCharsets.UTF_8);
+            Files.move(tempFile, namesFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            LOGGER.warn("Unable to write journal names file ({})", namesFile, e);
+        }
+
+        if (DROPPED.get() > 0) {
+            LOGGER.warn("Event journal is full; {} events were dropped", DROPPED.get());
+        }
+    }
+
+    /**
+     * Get the path of the journal file.
+     *
+     * @return journal file path
+     */
+    static Path getJournalFile() {
+        String fileName = JUnitConfig.getConfig().getString(JUnitSettings.JOURNAL_FILE.key());
+        return Paths.get(PathUtils.getBaseDir()).resolve(fileName);
+    }
+
+    /**
+     * Append a record for the specified event to the calling thread's chunk of the journal.
+     *
+     * @param type event type
+     * @param method subject method (may be {@code null})
+     * @param testClass subject test class (may be {@code null})
+     * @param flags event flags
+     */
+    private static void append(EventType type, FrameworkMethod method, TestClass testClass, int flags) {
+        long elapsed = System.nanoTime() - START_NANOS;
+        ByteBuffer chunk = CHUNK.get();
+        if (chunk == null || chunk.remaining() < RECORD_SIZE) {
+            chunk = claimChunk();
+            if (chunk == null) {
+                DROPPED.incrementAndGet();
+                return;
+            }
+            CHUNK.set(chunk);
+        }
+
+        chunk.putLong(elapsed);
+        chunk.putLong(Thread.currentThread().getId());
+        chunk.putInt(getMethodId(method));
+        chunk.putInt(getClassId(testClass));
+        chunk.putInt(flags);
+        chunk.putInt(type.code());
+    }
+
+    /**
+     * Claim the next unused chunk of the journal.
+     *
+     * @return buffer for the claimed chunk; {@code null} if the journal is full or unavailable
+     */
+    private static ByteBuffer claimChunk() {
+        MappedByteBuffer buffer = getJournal();
+        if (buffer == null) {
+            return null;
+        }
+
+        long offset = NEXT_CHUNK.getAndAdd(CHUNK_SIZE);
+        if (offset + CHUNK_SIZE > buffer.capacity()) {
+            return null;
+        }
+
+        ByteBuffer chunk = buffer.duplicate();
+        chunk.position((int) offset);
+        chunk.limit((int) offset + CHUNK_SIZE);
+        return chunk.slice();
+    }
+
+    /**
+     * Get the memory-mapped journal, creating it on first use.
+     *
+     * @return mapped journal buffer; {@code null} if the journal couldn't be created
+     */
+    private static MappedByteBuffer getJournal() {
+        MappedByteBuffer buffer = journal;
+        if (buffer == null) {
+            synchronized (EventJournal.class) {
+                if (!opened) {
+                    opened = true;
+                    journal = openJournal();
+                }
+                buffer = journal;
+            }
+        }
+        return buffer;
+    }
+
+    /**
+     * Create and map the journal file, and write the journal header.
+     *
+     * @return mapped journal buffer; {@code null} if the journal couldn't be created
+     */
+    private static MappedByteBuffer openJournal() {
+        journalFile = getJournalFile();
+        long megabytes = JUnitConfig.getConfig().getLong(JUnitSettings.JOURNAL_SIZE.key());
+        int capacity = (int) Math.min(megabytes * 1024 * 1024, Integer.MAX_VALUE - CHUNK_SIZE);
+
+        try {
+            Files.createDirectories(journalFile.toAbsolutePath().getParent());
+            try (FileChannel channel = FileChannel.open(journalFile, StandardOpenOption.CREATE,
+                            StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+                MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, capacity);
+                buffer.putInt(0, MAGIC);
+                buffer.putInt(4, VERSION);
+                buffer.putInt(8, RECORD_SIZE);
+                buffer.putInt(12, CHUNK_SIZE);
+                buffer.putLong(16, System.currentTimeMillis() - (System.nanoTime() - START_NANOS) / 1000000);
+                buffer.putLong(LIMIT_OFFSET, 0);
+                Runtime.getRuntime().addShutdownHook(LifecycleHooks.getShutdownHook(EventJournal::flush));
+                return buffer;
+            }
+        } catch (IOException e) {
+            LOGGER.warn("Unable to create event journal ({})", journalFile, e);
+            return null;
+        }
+    }
+
+    /**
+     * Get the interned ID of the specified method.
+     *
+     * @param method framework method (may be {@code null})
+     * @return interned method ID; 0 if method is {@code null}
+     */
+    private static int getMethodId(FrameworkMethod method) {
+        if (method == null) {
+            return 0;
+        }
+        Integer id = SUBJECT_IDS.get(method);
+        if (id == null) {
+            id = intern(method, method.getDeclaringClass().getName() + "#" + method.getName());
+        }
+        return id;
+    }
+
+    /**
+     * Get the interned ID of the specified test class.
+     *
+     * @param testClass test class (may be {@code null})
+     * @return interned test class ID; 0 if test class is {@code null} or has no Java class
+     */
+    private static int getClassId(TestClass testClass) {
+        if (testClass == null || testClass.getJavaClass() == null) {
+            return 0;
+        }
+        Integer id = SUBJECT_IDS.get(testClass.getJavaClass());
+        if (id == null) {
+            id = intern(testClass.getJavaClass(), testClass.getName());
+        }
+        return id;
+    }
+
+    /**
+     * Assign an ID to the specified subject.
+     *
+     * @param subject subject object
+     * @param name subject name
+     * @return interned subject ID
+     */
+    private static int intern(Object subject, String name) {
+        return SUBJECT_IDS.computeIfAbsent(subject, key -> {
+            int id = NEXT_ID.incrementAndGet();
+            NAMES.put(id, name);
+            return id;
+        });
+    }
+
+    /**
+     * Decode the records of the specified journal, in the order they were stored. Records written by each thread
+     * appear in the order they were produced; use {@link Record#getElapsedNanos()} to order records across threads.
+     *
+     * @param journalFile journal file path
+     * @param consumer consumer of decoded records
+     * @throws IOException if an I/O error occurs or the file is not an event journal
+     */
+    public static void read(Path journalFile, Consumer<Record> consumer) throws IOException {
+        Map<Integer, String> names = new HashMap<>();
+        Path namesFile = Paths.get(journalFile.toString() + NAMES_SUFFIX);
+        if (namesFile.toFile().exists()) {
+            for (String line : Files.readAllLines(namesFile, StandardCharsets.UTF_8)) {
+                int tab = line.indexOf('\t');
+                if (tab > 0) {
+                    names.put(Integer.valueOf(line.substring(0, tab)), line.substring(tab + 1));
+                }
+            }
+        }
+
+        try (FileChannel channel = FileChannel.open(journalFile, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (buffer.capacity() < HEADER_SIZE || buffer.getInt(0) != MAGIC) {
+                throw new IOException("Not an event journal: " + journalFile);
+            }
+
+            long startMillis = buffer.getLong(16);
+            long limit = buffer.getLong(LIMIT_OFFSET);
+            if (limit <= 0 || limit > buffer.capacity()) {
+                limit = buffer.capacity();
+            }
+
+            for (int offset = HEADER_SIZE; offset + RECORD_SIZE <= limit; offset += RECORD_SIZE) {
+                EventType type = EventType.of(buffer.getInt(offset + 28));
+                if (type != null) {
+                    consumer.accept(new Record(startMillis, buffer.getLong(offset), buffer.getLong(offset + 8), type,
+                                    names.get(buffer.getInt(offset + 16)), names.get(buffer.getInt(offset + 20)),
+                                    (buffer.getInt(offset + 24) & FLAG_THROWN) != 0));
+                }
+            }
+        }
+    }
+
+    /**
+     * This class represents a decoded journal record.
+     */
+    public static final class Record {
+        private final long startMillis;
+        private final long elapsedNanos;
+        private final long threadId;
+        private final EventType eventType;
+        private final String method;
+        private final String testClass;
+        private final boolean thrown;
+
+        Record(long startMillis, long elapsedNanos, long threadId, EventType eventType, String method,
+                        String testClass, boolean thrown) {
+            this.startMillis = startMillis;
+            this.elapsedNanos = elapsedNanos;
+            this.threadId = threadId;
+            this.eventType = eventType;
+            this.method = method;
+            this.testClass = testClass;
+            this.thrown = thrown;
+        }
+
+        /**
+         * Get the wall-clock time at which the journal was opened.
+         *
+         * @return journal start time in milliseconds since the epoch
+         */
+        public long getStartMillis() {
+            return startMillis;
+        }
+
+        /**
+         * Get the time at which this event occurred, relative to the opening of the journal.
+         *
+         * @return elapsed nanoseconds
+         */
+        public long getElapsedNanos() {
+            return elapsedNanos;
+        }
+
+        /**
+         * Get the ID of the thread that produced this event.
+         *
+         * @return thread ID
+         */
+        public long getThreadId() {
+            return threadId;
+        }
+
+        /**
+         * Get the type of this event.
+         *
+         * @return event type
+         */
+        public EventType getEventType() {
+            return eventType;
+        }
+
+        /**
+         * Get the name of the method that this event concerns.
+         *
+         * @return method name as <i>class#method</i>; {@code null} for test class events
+         */
+        public String getMethod() {
+            return method;
+        }
+
+        /**
+         * Get the name of the test class that this event concerns.
+         *
+         * @return test class name; {@code null} for method invocation events
+         */
+        public String getTestClass() {
+            return testClass;
+        }
+
+        /**
+         * Determine if this event reported an exception.
+         *
+         * @return {@code true} if an exception was reported; otherwise {@code false}
+         */
+        public boolean isThrown() {
+            return thrown;
+        }
+
+        @Override
+        public String toString() {
+            return elapsedNanos + " [" + threadId + "] " + eventType + " "
+                            + ((method != null) ? method : testClass) + (thrown ? " (thrown)" : "");
+        }
+    }
+}
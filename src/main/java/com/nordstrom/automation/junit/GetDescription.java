@@ -0,0 +1,34 @@
+package com.nordstrom.automation.junit;
+
+import java.util.concurrent.Callable;
+
+import org.junit.runner.Description;
+
+import net.bytebuddy.implementation.bind.annotation.SuperCall;
+import net.bytebuddy.implementation.bind.annotation.This;
+
+/**
+ * This class declares the interceptor for the {@link org.junit.runners.ParentRunner#getDescription getDescription}
+ * method.
+ */
+@SuppressWarnings("squid:S1118")
+public class GetDescription {
+
+    /**
+     * Interceptor for the {@link org.junit.runners.ParentRunner#getDescription getDescription} method.
+     * <p>
+     * <b>NOTE</b>: Before the first description of a runner is produced, the configured test selection is applied to
+     * the runner (see {@link ChildOrdering#select(Object)}). The description therefore only lists the tests that
+     * will actually run.
+     * 
+     * @param runner underlying test runner
+     * @param proxy callable proxy for the intercepted method
+     * @return {@link Description} object for the runner
+     * @throws Exception {@code anything} (exception thrown by the intercepted method)
+     */
+    public static Description intercept(@This final Object runner, @SuperCall final Callable<?> proxy)
+                    throws Exception {
+        ChildOrdering.select(runner);
+        return (Description) LifecycleHooks.callProxy(proxy);
+    }
+}
@@ -0,0 +1,31 @@
+package com.nordstrom.automation.junit;
+
+import java.util.List;
+
+/**
+ * This interface defines the method implemented by batch-oriented method watchers. Instead of being called before and
+ * after each test or configuration method invocation, these watchers receive compact {@link InvocationRecord records}
+ * of completed invocations in chunks. This makes aggregating watchers (e.g. - counters, timers, fixture coverage) far
+ * cheaper than per-invocation {@link MethodWatcher} dispatch for suites with many invocations.
+ * <p>
+ * Records are collected in per-thread buffers, which are delivered when they reach the size specified by the
+ * {@link JUnitConfig.JUnitSettings#BATCH_SIZE BATCH_SIZE} setting, when a test class finishes, when the outermost
+ * runner finishes, and when the JVM shuts down.
+ * <p>
+ * <b>NOTE</b>: Batches from different threads may be delivered concurrently, and in any order. Implementations must be
+ * thread-safe. Records are reused after their batch has been delivered, so implementations that retain records must
+ * {@link InvocationRecord#copy() copy} them.
+ * <p>
+ * To receive invocation batches, declare your implementation in the
+ * <b>META-INF/services/com.nordstrom.automation.junit.InvocationBatchWatcher</b> provider configuration file.
+ */
+public interface InvocationBatchWatcher {
+
+    /**
+     * Invoked with a batch of completed test and configuration method invocations.
+     *
+     * @param batch unmodifiable list of invocation records, in the order they completed on their thread; valid only
+     *              for the duration of this call
+     */
+    void invocationsCompleted(List<InvocationRecord> batch);
+}
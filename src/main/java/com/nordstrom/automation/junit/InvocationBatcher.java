@@ -0,0 +1,249 @@
+package com.nordstrom.automation.junit;
+
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.ServiceLoader;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.junit.runners.model.FrameworkMethod;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.nordstrom.automation.junit.JUnitConfig.JUnitSettings;
+
+/**
+ * This class collects {@link InvocationRecord records} of completed method invocations in per-thread buffers and
+ * delivers them in batches to the service-loaded {@link InvocationBatchWatcher} implementations. If no batch watchers
+ * are declared, no records are collected.
+ * <p>
+ * Each buffer preallocates its records and reuses them once their batch has been delivered, so recording an invocation
+ * doesn't allocate. The buffers of threads that have finished are drained and deregistered when buffers are flushed.
+ */
+final class InvocationBatcher {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(InvocationBatcher.class);
+    private static final List<InvocationBatchWatcher> WATCHERS = loadWatchers();
+    private static final int BATCH_SIZE = getBatchSize();
+    private static final Set<Buffer> BUFFERS = ConcurrentHashMap.newKeySet();
+    private static final ThreadLocal<Buffer> THREAD_BUFFER = ThreadLocal.withInitial(InvocationBatcher::newBuffer);
+
+    static {
+        if (isEnabled()) {
+            Runtime.getRuntime().addShutdownHook(LifecycleHooks.getShutdownHook(InvocationBatcher::flush));
+        }
+    }
+
+    private InvocationBatcher() {
+        throw new AssertionError("InvocationBatcher is a static utility class that cannot be instantiated");
+    }
+
+    /**
+     * Determine if invocation records are being collected.
+     *
+     * @return {@code true} if batch watchers are declared; otherwise {@code false}
+     */
+    static boolean isEnabled() {
+        return !WATCHERS.isEmpty();
+    }
+
+    /**
+     * Record a completed method invocation on the current thread, delivering the thread's buffer if it's full.
+     *
+     * @param target "enhanced" object upon which the method was invoked ({@code null} for static methods)
+     * @param method {@link FrameworkMethod} object for the invoked method
+     * @param startTime start time from {@link System#nanoTime()}
+     * @param thrown exception thrown by method; {@code null} on normal completion
+     */
+    static void record(Object target, FrameworkMethod method, long startTime, Throwable thrown) {
+        long duration = System.nanoTime() - startTime;
+        Class<?> testClass = (target != null) ? LifecycleHooks.getInstanceClass(target) : method.getDeclaringClass();
+        THREAD_BUFFER.get().add(testClass, method, Thread.currentThread().getId(), startTime, duration, thrown);
+    }
+
+    /**
+     * Deliver the records collected so far by all threads to the batch watchers, and deregister the buffers of
+     * threads that have finished.
+     */
+    static void flush() {
+        Iterator<Buffer> iterator = BUFFERS.iterator();
+        while (iterator.hasNext()) {
+            Buffer buffer = iterator.next();
+            // check before draining, so the final records of a finished thread aren't missed
+            boolean finished = buffer.isOwnerFinished();
+            buffer.drain();
+            if (finished) {
+                iterator.remove();
+            }
+        }
+    }
+
+    /**
+     * Deliver the specified batch of records to the batch watchers.
+     *
+     * @param records array of invocation records
+     * @param count number of records in the batch
+     */
+    private static void deliver(InvocationRecord[] records, int count) {
+        List<InvocationRecord> batch = Collections.unmodifiableList(Arrays.asList(records).subList(0, count));
+        for (InvocationBatchWatcher watcher : WATCHERS) {
+            try {
+                watcher.invocationsCompleted(batch);
+            } catch (RuntimeException e) {
+                LOGGER.warn("Batch watcher failed: {}", watcher.getClass().getName(), e);
+            }
+        }
+    }
+
+    /**
+     * Create and register a record buffer for the current thread.
+     *
+     * @return new record buffer
+     */
+    private static Buffer newBuffer() {
+        Buffer buffer = new Buffer(Thread.currentThread());
+        BUFFERS.add(buffer);
+        return buffer;
+    }
+
+    /**
+     * Load the declared batch watchers.
+     *
+     * @return unmodifiable list of batch watchers
+     */
+    private static List<InvocationBatchWatcher> loadWatchers() {
+        List<InvocationBatchWatcher> watchers = new ArrayList<>();
+        for (InvocationBatchWatcher watcher : ServiceLoader.load(InvocationBatchWatcher.class)) {
+            watchers.add(watcher);
+        }
+        return Collections.unmodifiableList(watchers);
+    }
+
+    /**
+     * Get the configured batch size.
+     *
+     * @return number of records per batch (at least 1)
+     */
+    private static int getBatchSize() {
+        return Math.max(JUnitConfig.getConfig().getInt(JUnitSettings.BATCH_SIZE.key(), 1024), 1);
+    }
+
+    /**
+     * Allocate an array of empty invocation records.
+     *
+     * @return array of {@link #BATCH_SIZE} records
+     */
+    private static InvocationRecord[] newRecords() {
+        InvocationRecord[] records = new InvocationRecord[BATCH_SIZE];
+        for (int i = 0; i < records.length; i++) {
+            records[i] = new InvocationRecord();
+        }
+        return records;
+    }
+
+    /**
+     * This class holds the invocation records collected by a single thread.
+     * <p>
+     * <b>NOTE</b>: The owning thread is the only one that adds records, so the buffer lock is almost never contended.
+     * Other threads only acquire it to drain the buffer at class and run boundaries. A delivered array of records is
+     * kept as a spare for reuse; another array is only allocated if the spare is still being delivered by another
+     * thread when the buffer fills up again.
+     */
+    private static class Buffer {
+        private final WeakReference<Thread> owner;
+        private InvocationRecord[] records = newRecords();
+        private InvocationRecord[] spare;
+        private int count;
+
+        Buffer(Thread owner) {
+            this.owner = new WeakReference<>(owner);
+        }
+
+        /**
+         * Determine if the thread that owns this buffer has finished.
+         *
+         * @return {@code true} if the owning thread has terminated or been collected; otherwise {@code false}
+         */
+        boolean isOwnerFinished() {
+            Thread thread = owner.get();
+            return (thread == null) || !thread.isAlive();
+        }
+
+        /**
+         * Add a record of the specified invocation to this buffer, delivering the buffer contents if it's full.
+         *
+         * @param testClass class of the target instance; declaring class of the method for static methods
+         * @param method {@link FrameworkMethod} object for the invoked method
+         * @param threadId ID of the thread on which the method was invoked
+         * @param startTime start time from {@link System#nanoTime()}
+         * @param duration duration in nanoseconds
+         * @param thrown exception thrown by method; {@code null} on normal completion
+         */
+        void add(Class<?> testClass, FrameworkMethod method, long threadId, long startTime, long duration,
+                        Throwable thrown) {
+            InvocationRecord[] batch = null;
+            synchronized (this) {
+                records[count++].set(testClass, method, threadId, startTime, duration, thrown);
+                if (count == records.length) {
+                    batch = takeRecords();
+                }
+            }
+            if (batch != null) {
+                deliverAndRecycle(batch, batch.length);
+            }
+        }
+
+        /**
+         * Deliver the records collected so far by this buffer.
+         */
+        void drain() {
+            InvocationRecord[] batch;
+            int size;
+            synchronized (this) {
+                size = count;
+                batch = (size == 0) ? null : takeRecords();
+            }
+            if (batch != null) {
+                deliverAndRecycle(batch, size);
+            }
+        }
+
+        /**
+         * Remove the records collected so far from this buffer; the caller must hold the buffer lock.
+         *
+         * @return array of removed records
+         */
+        private InvocationRecord[] takeRecords() {
+            InvocationRecord[] batch = records;
+            records = (spare != null) ? spare : newRecords();
+            spare = null;
+            count = 0;
+            return batch;
+        }
+
+        /**
+         * Deliver the specified batch of records, then clear the records and keep the array for reuse.
+         *
+         * @param batch array of removed records
+         * @param size number of records in the batch
+         */
+        private void deliverAndRecycle(InvocationRecord[] batch, int size) {
+            try {
+                deliver(batch, size);
+            } finally {
+                for (int i = 0; i < size; i++) {
+                    batch[i].clear();
+                }
+                synchronized (this) {
+                    if (spare == null) {
+                        spare = batch;
+                    }
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package com.nordstrom.automation.junit;
+
+import org.junit.Test;
+import org.junit.runners.model.FrameworkMethod;
+
+/**
+ * This class is a compact record of a completed test or configuration method invocation, delivered to
+ * {@link InvocationBatchWatcher} implementations.
+ * <p>
+ * <b>NOTE</b>: To avoid allocating a record per invocation, the records of each thread are reused once their batch
+ * has been delivered. A record is only valid for the duration of the
+ * {@link InvocationBatchWatcher#invocationsCompleted(java.util.List) invocationsCompleted} call that delivers it;
+ * watchers that retain records must {@link #copy() copy} them.
+ */
+public final class InvocationRecord {
+
+    private Class<?> testClass;
+    private FrameworkMethod method;
+    private long threadId;
+    private long startTime;
+    private long duration;
+    private Throwable thrown;
+
+    InvocationRecord() {
+    }
+
+    /**
+     * Populate this record with the details of a completed invocation.
+     *
+     * @param testClass class of the target instance; declaring class of the method for static methods
+     * @param method {@link FrameworkMethod} object for the invoked method
+     * @param threadId ID of the thread on which the method was invoked
+     * @param startTime start time from {@link System#nanoTime()}
+     * @param duration duration in nanoseconds
+     * @param thrown exception thrown by method; {@code null} on normal completion
+     * @return this record
+     */
+    InvocationRecord set(Class<?> testClass, FrameworkMethod method, long threadId, long startTime, long duration,
+                    Throwable thrown) {
+        this.testClass = testClass;
+        this.method = method;
+        this.threadId = threadId;
+        this.startTime = startTime;
+        this.duration = duration;
+        this.thrown = thrown;
+        return this;
+    }
+
+    /**
+     * Release the objects referenced by this record, so a delivered record doesn't retain them until it's reused.
+     */
+    void clear() {
+        set(null, null, 0, 0, 0, null);
+    }
+
+    /**
+     * Create a copy of this record that isn't reused.
+     *
+     * @return new invocation record with the same details as this one
+     */
+    public InvocationRecord copy() {
+        return new InvocationRecord().set(testClass, method, threadId, startTime, duration, thrown);
+    }
+
+    /**
+     * Get the test class of the invocation.
+     *
+     * @return class of the target instance; declaring class of the method for static methods
+     */
+    public Class<?> getTestClass() {
+        return testClass;
+    }
+
+    /**
+     * Get the invoked method.
+     *
+     * @return {@link FrameworkMethod} object for the invoked method
+     */
+    public FrameworkMethod getMethod() {
+        return method;
+    }
+
+    /**
+     * Determine if the invoked method is a test method.
+     *
+     * @return {@code true} for {@link Test &#64;Test} methods; {@code false} for configuration methods
+     */
+    public boolean isTest() {
+        return method.getAnnotation(Test.class) != null;
+    }
+
+    /**
+     * Get the ID of the thread on which the method was invoked.
+     *
+     * @return thread ID
+     */
+    public long getThreadId() {
+        return threadId;
+    }
+
+    /**
+     * Get the start time of the invocation.
+     *
+     * @return start time from {@link System#nanoTime()}
+     */
+    public long getStartTime() {
+        return startTime;
+    }
+
+    /**
+     * Get the duration of the invocation.
+     *
+     * @return duration in nanoseconds
+     */
+    public long getDuration() {
+        return duration;
+    }
+
+    /**
+     * Get the exception thrown by the invoked method.
+     *
+     * @return exception thrown by method; {@code null} on normal completion
+     */
+    public Throwable getThrown() {
+        return thrown;
+    }
+}
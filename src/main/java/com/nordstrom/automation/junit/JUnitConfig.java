@@ -29,7 +29,55 @@ public class JUnitConfig extends SettingsCore<JUnitConfig.JUnitSettings> {
         /** name: <b>junit.timeout.test</b> <br> default: {@code null} */
         TEST_TIMEOUT("junit.timeout.test", null),
         /** name: <b>junit.max.retry</b> <br> default: <b>0</b> */
-        MAX_RETRY("junit.max.retry", "0");
+        MAX_RETRY("junit.max.retry", "0"),
+        /** name: <b>junit.concurrent.children</b> <br> default: {@code false} */
+        CONCURRENT_CHILDREN("junit.concurrent.children", "false"),
+        /** name: <b>junit.class.concurrency</b> <br> default: <b>16</b> */
+        CLASS_CONCURRENCY("junit.class.concurrency", "16"),
+        /** name: <b>junit.timing.file</b> <br> default: {@code junit-timings.properties} */
+        TIMING_FILE("junit.timing.file", "junit-timings.properties"),
+        /** name: <b>junit.order.longest.first</b> <br> default: {@code false} */
+        LONGEST_FIRST("junit.order.longest.first", "false"),
+        /** name: <b>junit.shard.count</b> <br> default: <b>1</b> */
+        SHARD_COUNT("junit.shard.count", "1"),
+        /** name: <b>junit.shard.index</b> <br> default: <b>0</b> */
+        SHARD_INDEX("junit.shard.index", "0"),
+        /** name: <b>junit.failure.file</b> <br> default: {@code junit-failures.txt} */
+        FAILURE_FILE("junit.failure.file", "junit-failures.txt"),
+        /** name: <b>junit.order.failed.first</b> <br> default: {@code false} */
+        FAILED_FIRST("junit.order.failed.first", "false"),
+        /** name: <b>junit.fail.fast</b> <br> default: <b>0</b> */
+        FAIL_FAST("junit.fail.fast", "0"),
+        /** name: <b>junit.impact.file</b> <br> default: {@code junit-impact.properties} */
+        IMPACT_FILE("junit.impact.file", "junit-impact.properties"),
+        /** name: <b>junit.impact.record</b> <br> default: {@code false} */
+        IMPACT_RECORD("junit.impact.record", "false"),
+        /** name: <b>junit.impact.select</b> <br> default: {@code false} */
+        IMPACT_SELECT("junit.impact.select", "false"),
+        /** name: <b>junit.journal.file</b> <br> default: {@code junit-events.journal} */
+        JOURNAL_FILE("junit.journal.file", "junit-events.journal"),
+        /** name: <b>junit.journal.size</b> <br> default: <b>64</b> (megabytes) */
+        JOURNAL_SIZE("junit.journal.size", "64"),
+        /** name: <b>junit.trace.file</b> <br> default: {@code junit-trace.json} */
+        TRACE_FILE("junit.trace.file", "junit-trace.json"),
+        /** name: <b>junit.jfr.events</b> <br> default: {@code false} */
+        JFR_EVENTS("junit.jfr.events", "false"),
+        /** name: <b>junit.allocation.limit</b> <br> default: <b>0</b> (bytes; 0 = no limit) */
+        ALLOCATION_LIMIT("junit.allocation.limit", "0"),
+        /** name: <b>junit.cpu.time.limit</b> <br> default: <b>0</b> (milliseconds; 0 = no limit) */
+        CPU_TIME_LIMIT("junit.cpu.time.limit", "0"),
+        /** name: <b>junit.report.file</b> <br> default: {@code junit-report.xml} */
+        REPORT_FILE("junit.report.file", "junit-report.xml"),
+        /** name: <b>junit.report.json.file</b> <br> default: {@code null} */
+        REPORT_JSON_FILE("junit.report.json.file", null),
+        /** name: <b>junit.async.watchers</b> <br> default: {@code null} */
+        ASYNC_WATCHERS("junit.async.watchers", null),
+        /** name: <b>junit.async.buffer.size</b> <br> default: <b>8192</b> */
+        ASYNC_BUFFER_SIZE("junit.async.buffer.size", "8192"),
+        /** name: <b>junit.batch.size</b> <br> default: <b>1024</b> */
+        BATCH_SIZE("junit.batch.size", "1024"),
+        /** name: <b>junit.sampled.watchers</b> <br> default: {@code null} */
+        SAMPLED_WATCHERS("junit.sampled.watchers", null);
 
         private String propertyName;
         private String defaultValue;
@@ -50,16 +98,8 @@ public class JUnitConfig extends SettingsCore<JUnitConfig.JUnitSettings> {
         }
     }
     
-    private static final ThreadLocal<JUnitConfig> junitConfig = new InheritableThreadLocal<JUnitConfig>() {
-        @Override
-        protected JUnitConfig initialValue() {
-            try {
-                return new JUnitConfig();
-            } catch (ConfigurationException | IOException e) {
-                throw UncheckedThrow.throwUnchecked(e);
-            }
-        }
-    };
+    private static volatile JUnitConfig junitConfig;
+    private static volatile Snapshot snapshot;
 
     /**
      * Instantiate a <b>JUnit Foundation</b> configuration object.
@@ -72,16 +112,151 @@ public class JUnitConfig extends SettingsCore<JUnitConfig.JUnitSettings> {
     }
 
     /**
-     * Get the JUnit configuration object for the specified context.
+     * Get the JUnit configuration object.
+     * <p>
+     * <b>NOTE</b>: The configuration is loaded once per JVM and shared by all threads. Because System properties are
+     * consulted on each lookup, changes to System property declarations are reflected in the values returned by
+     * this object.
      * 
      * @return JUnit configuration object
      */
     public static JUnitConfig getConfig() {
-        return junitConfig.get();
+        JUnitConfig config = junitConfig;
+        if (config == null) {
+            synchronized (JUnitConfig.class) {
+                config = junitConfig;
+                if (config == null) {
+                    try {
+                        config = new JUnitConfig();
+                    } catch (ConfigurationException | IOException e) {
+                        throw UncheckedThrow.throwUnchecked(e);
+                    }
+                    junitConfig = config;
+                }
+            }
+        }
+        return config;
+    }
+    
+    /**
+     * Get the frozen snapshot of the settings that are consulted for every test.
+     * <p>
+     * <b>NOTE</b>: The snapshot is captured on first use. Changes to these settings made after this point are not
+     * reflected until {@link #refreshSnapshot()} is called.
+     * 
+     * @return configuration snapshot
+     */
+    public static Snapshot getSnapshot() {
+        Snapshot current = snapshot;
+        if (current == null) {
+            synchronized (JUnitConfig.class) {
+                current = snapshot;
+                if (current == null) {
+                    current = new Snapshot(getConfig());
+                    snapshot = current;
+                }
+            }
+        }
+        return current;
+    }
+    
+    /**
+     * Capture a new snapshot of the settings that are consulted for every test.
+     * 
+     * @return refreshed configuration snapshot
+     */
+    public static Snapshot refreshSnapshot() {
+        synchronized (JUnitConfig.class) {
+            snapshot = new Snapshot(getConfig());
+            return snapshot;
+        }
     }
     
     @Override
     public String getSettingsPath() {
         return SETTINGS_FILE;
     }
+    
+    /**
+     * This class holds the parsed values of the settings that are consulted for every test:
+     * {@link JUnitSettings#MAX_RETRY MAX_RETRY}, {@link JUnitSettings#TEST_TIMEOUT TEST_TIMEOUT},
+     * {@link JUnitSettings#RULE_CHAIN_LIST RULE_CHAIN_LIST}, {@link JUnitSettings#ALLOCATION_LIMIT ALLOCATION_LIMIT},
+     * and {@link JUnitSettings#CPU_TIME_LIMIT CPU_TIME_LIMIT}.
+     */
+    public static final class Snapshot {
+        private final int maxRetry;
+        private final long testTimeout;
+        private final String ruleChainList;
+        private final long allocationLimit;
+        private final long cpuTimeLimit;
+        
+        private Snapshot(JUnitConfig config) {
+            maxRetry = config.getInteger(JUnitSettings.MAX_RETRY.key(), Integer.valueOf(0));
+            if (config.containsKey(JUnitSettings.TEST_TIMEOUT.key())) {
+                testTimeout = config.getLong(JUnitSettings.TEST_TIMEOUT.key());
+            } else {
+                testTimeout = -1;
+            }
+            ruleChainList = config.getString(JUnitSettings.RULE_CHAIN_LIST.key());
+            allocationLimit = config.getLong(JUnitSettings.ALLOCATION_LIMIT.key());
+            cpuTimeLimit = config.getLong(JUnitSettings.CPU_TIME_LIMIT.key());
+        }
+        
+        /**
+         * Get the maximum retry count for failed tests ({@link JUnitSettings#MAX_RETRY MAX_RETRY}).
+         * 
+         * @return maximum retry count
+         */
+        public int getMaxRetry() {
+            return maxRetry;
+        }
+        
+        /**
+         * Determine if a default test timeout is defined ({@link JUnitSettings#TEST_TIMEOUT TEST_TIMEOUT}).
+         * 
+         * @return {@code true} if a default test timeout is defined; otherwise {@code false}
+         */
+        public boolean hasTestTimeout() {
+            return testTimeout >= 0;
+        }
+        
+        /**
+         * Get the default test timeout ({@link JUnitSettings#TEST_TIMEOUT TEST_TIMEOUT}).
+         * 
+         * @return default test timeout in milliseconds; -1 if undefined
+         */
+        public long getTestTimeout() {
+            return testTimeout;
+        }
+        
+        /**
+         * Get the name of the rule list field of {@link org.junit.rules.RuleChain RuleChain}
+         * ({@link JUnitSettings#RULE_CHAIN_LIST RULE_CHAIN_LIST}).
+         * 
+         * @return rule list field name
+         */
+        public String getRuleChainList() {
+            return ruleChainList;
+        }
+        
+        /**
+         * Get the allocation budget for each test method invocation
+         * ({@link JUnitSettings#ALLOCATION_LIMIT ALLOCATION_LIMIT}).
+         * 
+         * @return allocation budget in bytes; 0 if unlimited
+         */
+        public long getAllocationLimit() {
+            return allocationLimit;
+        }
+        
+        /**
+         * Get the CPU time budget for each test method invocation
+         * ({@link JUnitSettings#CPU_TIME_LIMIT CPU_TIME_LIMIT}).
+         * 
+         * @return CPU time budget in milliseconds; 0 if unlimited
+         */
+        public long getCpuTimeLimit() {
+            return cpuTimeLimit;
+        }
+    }
 }
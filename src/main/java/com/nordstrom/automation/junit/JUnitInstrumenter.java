@@ -0,0 +1,184 @@
+package com.nordstrom.automation.junit;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Enumeration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+import java.util.jar.JarOutputStream;
+
+import net.bytebuddy.ByteBuddy;
+import net.bytebuddy.ClassFileVersion;
+import net.bytebuddy.description.type.TypeDescription;
+import net.bytebuddy.dynamic.ClassFileLocator;
+import net.bytebuddy.dynamic.DynamicType;
+import net.bytebuddy.dynamic.scaffold.inline.MethodNameTransformer;
+import net.bytebuddy.implementation.auxiliary.AuxiliaryType;
+import net.bytebuddy.pool.TypePool;
+
+/**
+ * This class produces a pre-instrumented copy of the <b>JUnit</b> jar, applying the same interceptors that the
+ * <b>JUnit Foundation</b> Java agent installs at run time. Test JVMs that put the instrumented jar on the class path
+ * in place of the original get the full functionality of <b>JUnit Foundation</b> without the {@code -javaagent}
+ * option and without the cost of transforming classes at startup. The Java agent recognizes classes that were
+ * instrumented ahead of time, and leaves them alone.
+ * <p>
+ * Usage: {@code java -cp <class-path> com.nordstrom.automation.junit.JUnitInstrumenter <source-jar> <target-jar>}
+ * <p>
+ * The class path must include <b>JUnit Foundation</b>, its dependencies, and the source <b>JUnit</b> jar.
+ */
+public final class JUnitInstrumenter {
+
+    private static final String CLASS_SUFFIX = ".class";
+    private static final String JUNIT_PREFIX = "org/junit/";
+
+    private JUnitInstrumenter() {
+        throw new AssertionError("JUnitInstrumenter is a static utility class that cannot be instantiated");
+    }
+
+    /**
+     * This is the main entry point for the build-time instrumentation tool.
+     *
+     * @param args source jar path, target jar path
+     * @throws IOException if an I/O error occurs
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length != 2) {
+            System.err.println("Usage: java -cp <class-path> " + JUnitInstrumenter.class.getName()
+                            + " <source-jar> <target-jar>");
+            System.exit(1);
+        }
+        int count = instrument(Paths.get(args[0]), Paths.get(args[1]));
+        System.out.println("Instrumented " + count + " JUnit classes: " + args[1]);
+    }
+
+    /**
+     * Write a copy of the specified <b>JUnit</b> jar with the <b>JUnit Foundation</b> interceptors installed.
+     *
+     * @param sourceJar path of the original <b>JUnit</b> jar
+     * @param targetJar path of the instrumented jar
+     * @return count of instrumented classes
+     * @throws IOException if an I/O error occurs
+     * @throws IllegalStateException if the source jar has already been instrumented
+     */
+    public static int instrument(Path sourceJar, Path targetJar) throws IOException {
+        int count = 0;
+        Map<String, byte[]> classFiles = new LinkedHashMap<>();
+
+        try (JarFile jarFile = new JarFile(sourceJar.toFile())) {
+            ClassFileLocator locator = new ClassFileLocator.Compound(
+                            new ClassFileLocator.ForJarFile(jarFile), ClassFileLocator.ForClassLoader.ofSystemLoader());
+            TypePool typePool = TypePool.Default.of(locator);
+            TypeDescription reflectiveCallable =
+                            typePool.describe("org.junit.internal.runners.model.ReflectiveCallable").resolve();
+            TypeDescription parentRunner = typePool.describe("org.junit.runners.ParentRunner").resolve();
+            TypeDescription blockJUnit4ClassRunner =
+                            typePool.describe("org.junit.runners.BlockJUnit4ClassRunner").resolve();
+
+            Enumeration<JarEntry> entries = jarFile.entries();
+            while (entries.hasMoreElements()) {
+                String entryName = entries.nextElement().getName();
+                if (!entryName.startsWith(JUNIT_PREFIX) || !entryName.endsWith(CLASS_SUFFIX)) {
+                    continue;
+                }
+
+                String typeName = entryName.substring(0, entryName.length() - CLASS_SUFFIX.length()).replace('/', '.');
+                TypeDescription type = typePool.describe(typeName).resolve();
+                if (type.isAssignableTo(Hooked.class)) {
+                    throw new IllegalStateException("Source jar has already been instrumented: " + sourceJar);
+                }
+
+                DynamicType.Builder<?> builder;
+                if (type.equals(parentRunner)) {
+                    builder = LifecycleHooks.hookParentRunner(rebase(type, locator));
+                } else if (type.equals(blockJUnit4ClassRunner)) {
+                    builder = LifecycleHooks.hookBlockJUnit4ClassRunner(rebase(type, locator));
+                } else if (!type.isAbstract() && type.isAssignableTo(reflectiveCallable)) {
+                    builder = LifecycleHooks.hookReflectiveCallable(rebase(type, locator));
+                } else {
+                    continue;
+                }
+
+                for (Map.Entry<TypeDescription, byte[]> entry : builder.make().getAllTypes().entrySet()) {
+                    classFiles.put(entry.getKey().getInternalName() + CLASS_SUFFIX, entry.getValue());
+                }
+                count++;
+            }
+
+            writeJar(jarFile, classFiles, targetJar);
+        }
+        return count;
+    }
+
+    /**
+     * Get a builder that rebases the specified type. Rebased methods and auxiliary types get predictable names, so the
+     * instrumented jar is reproducible.
+     *
+     * @param type type to be rebased
+     * @param locator class file locator for the source jar
+     * @return type builder
+     */
+    private static DynamicType.Builder<?> rebase(TypeDescription type, ClassFileLocator locator) {
+        AtomicInteger auxiliaryCount = new AtomicInteger();
+        return new ByteBuddy(ClassFileVersion.JAVA_V8)
+                        .with((AuxiliaryType.NamingStrategy) instrumentedType -> instrumentedType.getName()
+                                        + "$auxiliary$" + auxiliaryCount.incrementAndGet())
+                        .rebase(type, locator, new MethodNameTransformer.Suffixing("original"));
+    }
+
+    /**
+     * Copy the entries of the source jar to the target jar, replacing instrumented classes and adding auxiliary types.
+     * Signature files are omitted, because instrumentation invalidates them.
+     *
+     * @param jarFile source jar file
+     * @param classFiles map of class file entry names to instrumented class files
+     * @param targetJar path of the instrumented jar
+     * @throws IOException if an I/O error occurs
+     */
+    private static void writeJar(JarFile jarFile, Map<String, byte[]> classFiles, Path targetJar) throws IOException {
+        Path parent = targetJar.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+
+        Map<String, byte[]> pending = new LinkedHashMap<>(classFiles);
+        try (OutputStream os = Files.newOutputStream(targetJar); JarOutputStream jar = new JarOutputStream(os)) {
+            Enumeration<JarEntry> entries = jarFile.entries();
+            while (entries.hasMoreElements()) {
+                JarEntry entry = entries.nextElement();
+                String entryName = entry.getName();
+                if (entryName.matches("META-INF/[^/]+\\.(SF|RSA|DSA|EC)")) {
+                    continue;
+                }
+
+                byte[] classFile = pending.remove(entryName);
+                jar.putNextEntry(new JarEntry(entryName));
+                if (classFile != null) {
+                    jar.write(classFile);
+                } else if (!entry.isDirectory()) {
+                    try (InputStream is = jarFile.getInputStream(entry)) {
+                        byte[] buffer = new byte[8192];
+                        int length;
+                        while ((length = is.read(buffer)) != -1) {
+                            jar.write(buffer, 0, length);
+                        }
+                    }
+                }
+                jar.closeEntry();
+            }
+
+            for (Map.Entry<String, byte[]> entry : pending.entrySet()) {
+                jar.putNextEntry(new JarEntry(entry.getKey()));
+                jar.write(entry.getValue());
+                jar.closeEntry();
+            }
+        }
+    }
+}
@@ -0,0 +1,222 @@
+package com.nordstrom.automation.junit;
+
+import static java.lang.invoke.MethodType.methodType;
+
+import java.lang.annotation.Annotation;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.reflect.Constructor;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.nordstrom.automation.junit.JUnitConfig.JUnitSettings;
+import com.nordstrom.common.base.UncheckedThrow;
+
+/**
+ * This class emits <b>Java Flight Recorder</b> events for test lifecycle activity: test and fixture method
+ * invocations, test class instantiation, retry attempts, and artifact capture. These events carry the thread and
+ * duration of the activity, so they can be correlated with the CPU samples, allocations, and GC pauses recorded by JFR.
+ * <p>
+ * This integration is enabled by the {@link JUnitSettings#JFR_EVENTS JFR_EVENTS} setting. Because <b>JUnit
+ * Foundation</b> targets Java 8, the event types are defined at run time through the {@code jdk.jfr.EventFactory} API,
+ * which is accessed reflectively. If the JVM doesn't provide this API, no events are emitted.
+ */
+final class JfrEvents {
+
+    /** method invocation event: test class, method, fixture flag, failed flag */
+    static final EventKind INVOCATION;
+    /** test class instantiation event: test class */
+    static final EventKind INSTANTIATION;
+    /** retry attempt event: test class, method, attempt number, failure class */
+    static final EventKind RETRY;
+    /** artifact capture event: test class, method, artifact type, path, bytes */
+    static final EventKind ARTIFACT_CAPTURE;
+
+    private static final String CATEGORY = "JUnit Foundation";
+    private static final Logger LOGGER = LoggerFactory.getLogger(JfrEvents.class);
+    private static final Jfr JFR = Jfr.create();
+
+    static {
+        INVOCATION = EventKind.create("Invocation", "Test Method Invocation",
+                        "Invocation of a test or fixture method",
+                        new String[] {"testClass", "method", "fixture", "failed"},
+                        new Class<?>[] {String.class, String.class, boolean.class, boolean.class});
+        INSTANTIATION = EventKind.create("Instantiation", "Test Class Instantiation",
+                        "Creation of a test class instance",
+                        new String[] {"testClass"},
+                        new Class<?>[] {String.class});
+        RETRY = EventKind.create("Retry", "Test Retry",
+                        "Failed attempt of a test that will be retried",
+                        new String[] {"testClass", "method", "attempt", "reason"},
+                        new Class<?>[] {String.class, String.class, int.class, String.class});
+        ARTIFACT_CAPTURE = EventKind.create("ArtifactCapture", "Artifact Capture",
+                        "Capture and storage of a test artifact",
+                        new String[] {"testClass", "method", "artifactType", "path", "bytes"},
+                        new Class<?>[] {String.class, String.class, String.class, String.class, long.class});
+    }
+
+    private JfrEvents() {
+        throw new AssertionError("JfrEvents is a static utility class that cannot be instantiated");
+    }
+
+    /**
+     * Determine if JFR events are being emitted.
+     *
+     * @return {@code true} if JFR events are enabled and supported; otherwise {@code false}
+     */
+    static boolean isEnabled() {
+        return JFR != null;
+    }
+
+    /**
+     * Begin an event of the specified kind.
+     *
+     * @param kind event kind
+     * @return event object; {@code null} if JFR events are disabled
+     */
+    static Object begin(EventKind kind) {
+        if (kind == null) {
+            return null;
+        }
+        try {
+            Object event = kind.newEvent.invoke();
+            JFR.begin.invoke(event);
+            return event;
+        } catch (Throwable t) {
+            throw UncheckedThrow.throwUnchecked(t);
+        }
+    }
+
+    /**
+     * End the specified event, and commit it if it's enabled in the active recordings.
+     *
+     * @param event event object from {@link #begin(EventKind)}; ignored if {@code null}
+     * @param values event field values, in the order they were declared
+     */
+    static void commit(Object event, Object... values) {
+        if (event == null) {
+            return;
+        }
+        try {
+            JFR.end.invoke(event);
+            if ((boolean) JFR.shouldCommit.invoke(event)) {
+                for (int i = 0; i < values.length; i++) {
+                    JFR.set.invoke(event, i, values[i]);
+                }
+                JFR.commit.invoke(event);
+            }
+        } catch (Throwable t) {
+            throw UncheckedThrow.throwUnchecked(t);
+        }
+    }
+
+    /**
+     * This class holds method handles for the {@code jdk.jfr} API.
+     */
+    private static final class Jfr {
+        private final Constructor<?> annotationElement;
+        private final Constructor<?> valueDescriptor;
+        private final Class<? extends Annotation> nameType;
+        private final Class<? extends Annotation> labelType;
+        private final Class<? extends Annotation> categoryType;
+        private final Class<? extends Annotation> descriptionType;
+        private final MethodHandle createFactory;
+        private final MethodHandle newEvent;
+        private final MethodHandle begin;
+        private final MethodHandle end;
+        private final MethodHandle shouldCommit;
+        private final MethodHandle set;
+        private final MethodHandle commit;
+
+        @SuppressWarnings("unchecked")
+        private Jfr() throws ReflectiveOperationException {
+            MethodHandles.Lookup lookup = MethodHandles.publicLookup();
+            Class<?> eventClass = Class.forName("jdk.jfr.Event");
+            Class<?> annotationElementClass = Class.forName("jdk.jfr.AnnotationElement");
+            Class<?> eventFactoryClass = Class.forName("jdk.jfr.EventFactory");
+            annotationElement = annotationElementClass.getConstructor(Class.class, Object.class);
+            valueDescriptor = Class.forName("jdk.jfr.ValueDescriptor").getConstructor(Class.class, String.class,
+                            List.class);
+            nameType = (Class<? extends Annotation>) Class.forName("jdk.jfr.Name");
+            labelType = (Class<? extends Annotation>) Class.forName("jdk.jfr.Label");
+            categoryType = (Class<? extends Annotation>) Class.forName("jdk.jfr.Category");
+            descriptionType = (Class<? extends Annotation>) Class.forName("jdk.jfr.Description");
+            createFactory = lookup.findStatic(eventFactoryClass, "create",
+                            methodType(eventFactoryClass, List.class, List.class));
+            newEvent = lookup.findVirtual(eventFactoryClass, "newEvent", methodType(eventClass));
+            begin = lookup.findVirtual(eventClass, "begin", methodType(void.class));
+            end = lookup.findVirtual(eventClass, "end", methodType(void.class));
+            shouldCommit = lookup.findVirtual(eventClass, "shouldCommit", methodType(boolean.class));
+            set = lookup.findVirtual(eventClass, "set", methodType(void.class, int.class, Object.class));
+            commit = lookup.findVirtual(eventClass, "commit", methodType(void.class));
+        }
+
+        /**
+         * Create the JFR API accessor if JFR events are enabled and supported.
+         *
+         * @return JFR API accessor; {@code null} if JFR events are disabled or unsupported
+         */
+        static Jfr create() {
+            if (!JUnitConfig.getConfig().getBoolean(JUnitSettings.JFR_EVENTS.key())) {
+                return null;
+            }
+            try {
+                return new Jfr();
+            } catch (ReflectiveOperationException | LinkageError e) {
+                LOGGER.warn("Java Flight Recorder event API is unavailable; no JFR events will be emitted");
+                return null;
+            }
+        }
+    }
+
+    /**
+     * This class represents a kind of event, defined through {@code jdk.jfr.EventFactory}.
+     */
+    static final class EventKind {
+        private final MethodHandle newEvent;
+
+        private EventKind(MethodHandle newEvent) {
+            this.newEvent = newEvent;
+        }
+
+        /**
+         * Define an event kind with the specified name and fields.
+         *
+         * @param name simple name of the event; qualified with this package
+         * @param label human-readable event label
+         * @param description event description
+         * @param fieldNames names of event fields
+         * @param fieldTypes types of event fields
+         * @return event kind; {@code null} if JFR events are disabled or the event couldn't be defined
+         */
+        static EventKind create(String name, String label, String description, String[] fieldNames,
+                        Class<?>[] fieldTypes) {
+            if (JFR == null) {
+                return null;
+            }
+            try {
+                List<Object> annotations = Arrays.asList(
+                                JFR.annotationElement.newInstance(JFR.nameType,
+                                                JfrEvents.class.getPackage().getName() + "." + name),
+                                JFR.annotationElement.newInstance(JFR.labelType, label),
+                                JFR.annotationElement.newInstance(JFR.categoryType, new String[] {CATEGORY}),
+                                JFR.annotationElement.newInstance(JFR.descriptionType, description));
+                List<Object> fields = new ArrayList<>();
+                for (int i = 0; i < fieldNames.length; i++) {
+                    fields.add(JFR.valueDescriptor.newInstance(fieldTypes[i], fieldNames[i], Collections.singletonList(
+                                    JFR.annotationElement.newInstance(JFR.labelType, fieldNames[i]))));
+                }
+                Object factory = JFR.createFactory.invoke(annotations, fields);
+                return new EventKind(JFR.newEvent.bindTo(factory));
+            } catch (Throwable t) {
+                LOGGER.warn("Unable to define JFR event: {}", name, t);
+                return null;
+            }
+        }
+    }
+}
@@ -7,24 +7,26 @@ import java.lang.instrument.Instrumentation;
 import java.lang.reflect.Field;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
-import java.util.HashSet;
-import java.util.List;
+import java.util.Collections;
 import java.util.Map;
 import java.util.ServiceLoader;
 import java.util.Set;
+import java.util.WeakHashMap;
 import java.util.concurrent.Callable;
 import java.util.concurrent.ConcurrentHashMap;
 import org.junit.Test;
 import org.junit.runner.Description;
 import org.junit.runner.notification.RunListener;
 import org.junit.runner.notification.RunNotifier;
+import org.junit.runners.model.FrameworkMethod;
 import org.junit.runners.model.TestClass;
-import com.nordstrom.automation.junit.JUnitConfig.JUnitSettings;
 import com.nordstrom.common.base.UncheckedThrow;
 import com.nordstrom.common.file.PathUtils.ReportsDirectory;
 
 import net.bytebuddy.agent.builder.AgentBuilder;
 import net.bytebuddy.description.type.TypeDescription;
+import net.bytebuddy.dynamic.ClassFileLocator;
+import net.bytebuddy.dynamic.DynamicType;
 import net.bytebuddy.implementation.MethodDelegation;
 import net.bytebuddy.implementation.bind.annotation.Argument;
 import net.bytebuddy.implementation.bind.annotation.RuntimeType;
@@ -36,8 +38,10 @@ import net.bytebuddy.pool.TypePool;
  * This class implements the hooks and utility methods that activate the core functionality of <b>JUnit Foundation</b>.
  */
 public class LifecycleHooks {
-
-    private static JUnitConfig config;
+    
+    private static final Map<Object, Map<FrameworkMethod, Description>> RUNNER_TO_DESCRIPTIONS =
+                    Collections.synchronizedMap(new WeakHashMap<>());
+    private static final Map<Class<?>, String> SUBCLASS_NAMES = Collections.synchronizedMap(new WeakHashMap<>());
     
     private LifecycleHooks() {
         throw new AssertionError("LifecycleHooks is a static utility class that cannot be instantiated");
@@ -66,31 +70,113 @@ public class LifecycleHooks {
     
     /**
      * Install the {@code Byte Buddy} byte code transformations that provide test fine-grained test lifecycle hooks.
+     * <p>
+     * To keep agent startup cheap, JDK, <b>Byte Buddy</b>, and common library packages are ignored by name before any
+     * matcher that requires the class file to be parsed is evaluated, types of the system class loader are resolved
+     * through a single shared {@link TypePool} cache (see {@link SharedPoolStrategy}), and the costly supertype
+     * check for {@code ReflectiveCallable} subclasses is only performed for classes in the {@code org.junit} package
+     * hierarchy. Classes that were already instrumented at build time by {@link JUnitInstrumenter} are skipped. Agent
+     * overhead and transformation failures are reported by {@link TransformMetrics}.
      * 
      * @param instrumentation {@link Instrumentation} object used to transform JUnit core classes
      * @return The installed class file transformer
      */
     public static ClassFileTransformer installTransformer(Instrumentation instrumentation) {
-        TypeDescription reflectiveCallable = TypePool.Default.ofSystemLoader().describe("org.junit.internal.runners.model.ReflectiveCallable").resolve();
-        TypeDescription parentRunner = TypePool.Default.ofSystemLoader().describe("org.junit.runners.ParentRunner").resolve();
-        TypeDescription blockJUnit4ClassRunner = TypePool.Default.ofSystemLoader().describe("org.junit.runners.BlockJUnit4ClassRunner").resolve();
+        long started = System.nanoTime();
+        SharedPoolStrategy poolStrategy = new SharedPoolStrategy();
+        TypePool typePool = poolStrategy.typePool(ClassFileLocator.ForClassLoader.ofSystemLoader(),
+                        ClassLoader.getSystemClassLoader());
+        TypeDescription reflectiveCallable =
+                        typePool.describe("org.junit.internal.runners.model.ReflectiveCallable").resolve();
+        TypeDescription parentRunner = typePool.describe("org.junit.runners.ParentRunner").resolve();
+        TypeDescription blockJUnit4ClassRunner =
+                        typePool.describe("org.junit.runners.BlockJUnit4ClassRunner").resolve();
         
-        return new AgentBuilder.Default()
-                .type(isSubTypeOf(reflectiveCallable))
-                .transform((builder, type, classLoader, module) -> 
-                        builder.method(named("runReflectiveCall")).intercept(MethodDelegation.to(RunReflectiveCall.class))
-                               .implement(Hooked.class))
-                .type(is(parentRunner))
-                .transform((builder, type, classLoader, module) -> 
-                        builder.method(named("createTestClass")).intercept(MethodDelegation.to(CreateTestClass.class))
-                               .method(named("run")).intercept(MethodDelegation.to(Run.class))
-                               .implement(Hooked.class))
-                .type(is(blockJUnit4ClassRunner))
-                .transform((builder, type, classLoader, module) -> 
-                        builder.method(named("createTest")).intercept(MethodDelegation.to(CreateTest.class))
-                               .method(named("runChild")).intercept(MethodDelegation.to(RunChild.class))
-                               .implement(Hooked.class))
+        TestImpact.installDeferredTransformer(instrumentation);
+        
+        ClassFileTransformer transformer = new AgentBuilder.Default()
+                .with(poolStrategy)
+                .with(TransformMetrics.getListener())
+                .ignore(nameStartsWith("java.").or(nameStartsWith("javax.")).or(nameStartsWith("jdk."))
+                        .or(nameStartsWith("sun.")).or(nameStartsWith("com.sun.")).or(nameStartsWith("net.bytebuddy."))
+                        .or(nameStartsWith("org.slf4j.")).or(nameStartsWith("ch.qos.logback."))
+                        .or(nameStartsWith("org.apache.")).or(nameStartsWith("org.testng."))
+                        .or(nameStartsWith("org.hamcrest.")).or(nameStartsWith("com.google.")))
+                .or(any(), isBootstrapClassLoader())
+                .or(isSynthetic())
+                .type(TransformMetrics.counting(nameStartsWith("org.junit.").and(isSubTypeOf(reflectiveCallable))
+                        .and(not(isSubTypeOf(Hooked.class)))))
+                .transform((builder, type, classLoader, module) -> hookReflectiveCallable(builder))
+                .type(TransformMetrics.counting(is(parentRunner).and(not(isSubTypeOf(Hooked.class)))))
+                .transform((builder, type, classLoader, module) -> hookParentRunner(builder))
+                .type(TransformMetrics.counting(is(blockJUnit4ClassRunner).and(not(isSubTypeOf(Hooked.class)))))
+                .transform((builder, type, classLoader, module) -> hookBlockJUnit4ClassRunner(builder))
                 .installOn(instrumentation);
+        
+        TransformMetrics.setInstallTime(System.nanoTime() - started);
+        return transformer;
+    }
+    
+    /**
+     * This pool strategy resolves the types of the system class loader through a single shared cache, so the JUnit
+     * supertypes checked by the type matchers are parsed only once. Types of other class loaders are resolved through
+     * a cache per transformed type, as with the default strategy, so these class loaders aren't retained.
+     */
+    static class SharedPoolStrategy extends AgentBuilder.PoolStrategy.WithTypePoolCache {
+        private final TypePool.CacheProvider systemCache = TypePool.CacheProvider.Simple.withObjectType();
+        
+        SharedPoolStrategy() {
+            super(TypePool.Default.ReaderMode.FAST);
+        }
+        
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        protected TypePool.CacheProvider locate(ClassLoader classLoader) {
+            if (classLoader == ClassLoader.getSystemClassLoader()) {
+                return systemCache;
+            }
+            return TypePool.CacheProvider.Simple.withObjectType();
+        }
+    }
+    
+    /**
+     * Install the interceptor for the {@code runReflectiveCall} method of a {@code ReflectiveCallable} subclass.
+     * 
+     * @param builder builder for the {@code ReflectiveCallable} subclass
+     * @return builder with the interceptor installed
+     */
+    static DynamicType.Builder<?> hookReflectiveCallable(DynamicType.Builder<?> builder) {
+        return builder.method(named("runReflectiveCall")).intercept(MethodDelegation.to(RunReflectiveCall.class))
+                      .implement(Hooked.class);
+    }
+    
+    /**
+     * Install the interceptors for the {@code createTestClass}, {@code run}, and {@code getDescription} methods of
+     * {@code ParentRunner}.
+     * 
+     * @param builder builder for {@code ParentRunner}
+     * @return builder with the interceptors installed
+     */
+    static DynamicType.Builder<?> hookParentRunner(DynamicType.Builder<?> builder) {
+        return builder.method(named("createTestClass")).intercept(MethodDelegation.to(CreateTestClass.class))
+                      .method(named("run")).intercept(MethodDelegation.to(Run.class))
+                      .method(named("getDescription")).intercept(MethodDelegation.to(GetDescription.class))
+                      .implement(Hooked.class);
+    }
+    
+    /**
+     * Install the interceptors for the {@code createTest} and {@code runChild} methods of
+     * {@code BlockJUnit4ClassRunner}.
+     * 
+     * @param builder builder for {@code BlockJUnit4ClassRunner}
+     * @return builder with the interceptors installed
+     */
+    static DynamicType.Builder<?> hookBlockJUnit4ClassRunner(DynamicType.Builder<?> builder) {
+        return builder.method(named("createTest")).intercept(MethodDelegation.to(CreateTest.class))
+                      .method(named("runChild")).intercept(MethodDelegation.to(RunChild.class))
+                      .implement(Hooked.class);
     }
     
     /**
@@ -108,18 +194,6 @@ public class LifecycleHooks {
         };
     }
     
-    /**
-     * Get the configuration object for JUnit Foundation.
-     * 
-     * @return JUnit Foundation configuration object
-     */
-    static synchronized JUnitConfig getConfig() {
-        if (config == null) {
-            config = JUnitConfig.getConfig();
-        }
-        return config;
-    }
-    
     /**
      * This class declares the interceptor for the {@link org.junit.runners.ParentRunner#run run} method.
      */
@@ -127,12 +201,15 @@ public class LifecycleHooks {
     public static class Run {
         private static final ServiceLoader<RunListener> runListenerLoader;
         private static final ServiceLoader<RunnerWatcher> runnerWatcherLoader;
-        private static final Set<RunNotifier> NOTIFIERS = new HashSet<>();
+        private static final Map<RunNotifier, Boolean> NOTIFIERS = Collections.synchronizedMap(new WeakHashMap<>());
+        private static final Map<Class<?>, Boolean> RUN_STARTED_LISTENERS = new ConcurrentHashMap<>();
         private static final Map<Object, Object> CHILD_TO_PARENT = new ConcurrentHashMap<>();
         
         static {
             runListenerLoader = ServiceLoader.load(RunListener.class);
             runnerWatcherLoader = ServiceLoader.load(RunnerWatcher.class);
+            TransformMetrics.registerMBean();
+            RunStatistics.registerMBean();
         }
         
         /**
@@ -146,28 +223,91 @@ public class LifecycleHooks {
         public static void intercept(@This final Object runner, @SuperCall final Callable<?> proxy,
                         @Argument(0) final RunNotifier notifier) throws Exception {
             
-            List<?> children = invoke(runner, "getChildren");
-            for (Object child : children) {
-                CHILD_TO_PARENT.put(child, runner);
-            }
+            attachRunListeners(runner, notifier);
             
-            if (NOTIFIERS.add(notifier)) {
-                Description description = invoke(runner, "getDescription");
-                for (RunListener listener : runListenerLoader) {
-                    notifier.addListener(listener);
-                    listener.testRunStarted(description);
-                }
+            // read run settings and reset fail-fast count when the outermost runner starts
+            if (getParentOf(runner) == null) {
+                ChildOrdering.runStarted(notifier);
             }
             
+            // re-attach if scheduler was replaced
+            CreateTestClass.attachRunnerScheduler(getTestClassOf(runner), runner);
+            
             for (RunnerWatcher watcher : runnerWatcherLoader) {
                 watcher.runStarted(runner);
             }
             
-            callProxy(proxy);
+            Set<String> dependencies = TestImpact.enterTestClass(getTestClassOf(runner));
+            try {
+                callProxy(proxy);
+            } finally {
+                TestImpact.exitTestClass(dependencies);
+            }
             
             for (RunnerWatcher watcher : runnerWatcherLoader) {
                 watcher.runFinished(runner);
             }
+            
+            // deliver pending invocation batches and asynchronous notifications when the outermost runner finishes
+            if (getParentOf(runner) == null) {
+                InvocationBatcher.flush();
+                AsyncDelivery.flush();
+            }
+        }
+        
+        /**
+         * Attach the service-loaded run listeners to the specified notifier, if they haven't been attached already.
+         * Notifiers are held weakly, so they can be collected once the run they serve is done. The root description
+         * is only computed if one of the listeners overrides {@link RunListener#testRunStarted testRunStarted}.
+         * 
+         * @param runner underlying test runner
+         * @param notifier run notifier through which events are published
+         * @throws Exception {@code anything} (exception thrown by the listeners)
+         */
+        private static void attachRunListeners(final Object runner, final RunNotifier notifier) throws Exception {
+            if (NOTIFIERS.putIfAbsent(notifier, Boolean.TRUE) != null) {
+                return;
+            }
+            
+            Description description = null;
+            synchronized (runListenerLoader) {
+                for (RunListener listener : runListenerLoader) {
+                    notifier.addListener(listener);
+                    if (needsRunStarted(listener)) {
+                        if (description == null) {
+                            description = invoke(runner, "getDescription");
+                        }
+                        listener.testRunStarted(description);
+                    }
+                }
+            }
+        }
+        
+        /**
+         * Determine if the specified run listener overrides {@link RunListener#testRunStarted testRunStarted}.
+         * 
+         * @param listener run listener
+         * @return {@code true} if the listener overrides {@code testRunStarted}; otherwise {@code false}
+         */
+        private static boolean needsRunStarted(final RunListener listener) {
+            return RUN_STARTED_LISTENERS.computeIfAbsent(listener.getClass(), type -> {
+                try {
+                    return type.getMethod("testRunStarted", Description.class).getDeclaringClass() != RunListener.class;
+                } catch (NoSuchMethodException e) {
+                    return Boolean.TRUE;
+                }
+            });
+        }
+        
+        /**
+         * Record the parent runner that owns the specified child. This link is captured when the parent runner
+         * schedules the child, which avoids materializing the child list of every runner that gets run.
+         * 
+         * @param child {@code ParentRunner} or {@code FrameworkMethod} object
+         * @param parent {@code ParentRunner} object that owns the specified child
+         */
+        static void setParentOf(Object child, Object parent) {
+            CHILD_TO_PARENT.put(child, parent);
         }
         
         /**
@@ -206,7 +346,11 @@ public class LifecycleHooks {
         @RuntimeType
         public static Object intercept(@This final Object runner,
                         @SuperCall final Callable<?> proxy) throws Exception {
+            Object event = JfrEvents.begin(JfrEvents.INSTANTIATION);
             Object testObj = callProxy(proxy);
+            if (event != null) {
+                JfrEvents.commit(event, getTestClassOf(runner).getName());
+            }
             TARGET_TO_TESTCLASS.put(testObj, getTestClassOf(runner));
             applyTimeout(testObj);
             
@@ -266,7 +410,8 @@ public class LifecycleHooks {
      * Get the parent runner that owns specified child runner.
      * 
      * @param child {@link org.junit.runners.ParentRunner ParentRunner} object
-     * @return {@code ParentRunner} object that owns the specified child ({@code null} for root objects)
+     * @return {@code ParentRunner} object that owns the specified child ({@code null} for root objects and for
+     *         children that haven't been scheduled yet)
      */
     public static Object getParentOf(Object child) {
         return Run.getParentOf(child);
@@ -303,7 +448,29 @@ public class LifecycleHooks {
     public static Description describeChild(Object target, Object child) {
         TestClass testClass = getTestClassFor(target);
         Object runner = getRunnerFor(testClass);
-        return invoke(runner, "describeChild", child);
+        return describeChildOf(runner, child);
+    }
+    
+    /**
+     * Get the description of the indicated child object from the specified parent runner.
+     * <p>
+     * <b>NOTE</b>: Descriptions of test methods are cached per runner, so repeated requests for the same method
+     * return the same object without invoking the runner. Descriptions of other children (e.g. - the runners of a
+     * suite) reflect the current state of the child, so they are requested from the runner every time.
+     * 
+     * @param runner {@link org.junit.runners.ParentRunner ParentRunner} object
+     * @param child child object
+     * @return {@link Description} object for the indicated child
+     */
+    static Description describeChildOf(Object runner, Object child) {
+        if (!(child instanceof FrameworkMethod)) {
+            return invoke(runner, "describeChild", child);
+        }
+        Map<FrameworkMethod, Description> descriptions;
+        synchronized (RUNNER_TO_DESCRIPTIONS) {
+            descriptions = RUNNER_TO_DESCRIPTIONS.computeIfAbsent(runner, key -> new ConcurrentHashMap<>());
+        }
+        return descriptions.computeIfAbsent((FrameworkMethod) child, key -> invoke(runner, "describeChild", key));
     }
     
     /**
@@ -313,10 +480,11 @@ public class LifecycleHooks {
      * @param testObj test class object
      */
     static void applyTimeout(Object testObj) {
+        JUnitConfig.Snapshot snapshot = JUnitConfig.getSnapshot();
         // if default test timeout is defined
-        if (getConfig().containsKey(JUnitSettings.TEST_TIMEOUT.key())) {
+        if (snapshot.hasTestTimeout()) {
             // get default test timeout
-            long defaultTimeout = getConfig().getLong(JUnitSettings.TEST_TIMEOUT.key());
+            long defaultTimeout = snapshot.getTestTimeout();
             // iterate over test object methods
             for (Method method : testObj.getClass().getDeclaredMethods()) {
                 // get @Test annotation
@@ -348,6 +516,16 @@ public class LifecycleHooks {
      * @return fully-qualified name for hooked subclass
      */
     static String getSubclassName(Object testObj) {
+        return SUBCLASS_NAMES.computeIfAbsent(testObj.getClass(), testClass -> resolveSubclassName(testObj));
+    }
+    
+    /**
+     * Resolve the fully-qualified name to use for the hooked test class of the specified object.
+     * 
+     * @param testObj test class object being hooked
+     * @return fully-qualified name for hooked subclass
+     */
+    private static String resolveSubclassName(Object testObj) {
         Class<?> testClass = testObj.getClass();
         String testClassName = testClass.getSimpleName();
         String testPackageName = testClass.getPackage().getName();
@@ -41,7 +41,7 @@ public class MutableTest implements Test {
      */
     @Override
     public Class<? extends Annotation> annotationType() {
-        return MutableTest.class;
+        return Test.class;
     }
     
     /**
@@ -0,0 +1,170 @@
+package com.nordstrom.automation.junit;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.junit.internal.AssumptionViolatedException;
+import org.junit.runner.Description;
+import org.junit.runners.model.FrameworkMethod;
+import org.junit.runners.model.TestClass;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.nordstrom.automation.junit.JUnitConfig.JUnitSettings;
+import com.nordstrom.common.file.PathUtils;
+
+/**
+ * This run watcher tracks the outcome of each atomic test and persists the set of recently failed tests to the file
+ * specified by the {@link JUnitSettings#FAILURE_FILE FAILURE_FILE} setting when the JVM shuts down. Tests that fail
+ * are added to this set, and tests that pass are removed from it. The historical failures drive the failed-first
+ * ordering feature of {@link ChildOrdering}.
+ * <p>
+ * To track test failures, declare this class in the
+ * <b>META-INF/services/com.nordstrom.automation.junit.RunWatcher</b> provider configuration file.
+ */
+public class RecentFailures implements RunWatcher {
+    
+    private static final Logger LOGGER = LoggerFactory.getLogger(RecentFailures.class);
+    private static final Map<String, Boolean> OUTCOMES = new ConcurrentHashMap<>();
+    private static Set<String> history;
+    
+    static {
+        Runtime.getRuntime().addShutdownHook(LifecycleHooks.getShutdownHook(RecentFailures::saveFailures));
+    }
+    
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void testStarted(FrameworkMethod method, TestClass testClass) {
+        // nothing to do here
+    }
+    
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void testFinished(FrameworkMethod method, TestClass testClass) {
+        OUTCOMES.putIfAbsent(TestDurations.getTestName(testClass, method), Boolean.FALSE);
+    }
+    
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void testFailure(FrameworkMethod method, TestClass testClass, Throwable thrown) {
+        OUTCOMES.put(TestDurations.getTestName(testClass, method), Boolean.TRUE);
+    }
+    
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void testAssumptionFailure(FrameworkMethod method, TestClass testClass,
+                    AssumptionViolatedException thrown) {
+        // nothing to do here
+    }
+    
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void testIgnored(FrameworkMethod method, TestClass testClass) {
+        // nothing to do here
+    }
+    
+    /**
+     * Determine if the specified test failed in a recent run.
+     * 
+     * @param testName test name (see {@link TestDurations#getTestName(Description)})
+     * @return {@code true} if the specified test failed recently; otherwise {@code false}
+     */
+    public static boolean hasRecentlyFailed(String testName) {
+        return getHistory().contains(testName);
+    }
+    
+    /**
+     * Get the set of recently failed tests read from the failure file.
+     * 
+     * @return unmodifiable set of test names
+     */
+    static synchronized Set<String> getHistory() {
+        if (history == null) {
+            history = Collections.unmodifiableSet(loadFailures(getFailureFile()));
+        }
+        return history;
+    }
+    
+    /**
+     * Get the path of the failure file.
+     * 
+     * @return failure file path
+     */
+    static Path getFailureFile() {
+        String fileName = JUnitConfig.getConfig().getString(JUnitSettings.FAILURE_FILE.key());
+        return Paths.get(PathUtils.getBaseDir()).resolve(fileName);
+    }
+    
+    /**
+     * Load the names of recently failed tests from the specified failure file.
+     * 
+     * @param failureFile failure file path
+     * @return set of test names; empty if the file is absent or unreadable
+     */
+    private static Set<String> loadFailures(Path failureFile) {
+        Set<String> failures = new HashSet<>();
+        if (failureFile.toFile().exists()) {
+            try {
+                for (String line : Files.readAllLines(failureFile)) {
+                    if ( ! line.trim().isEmpty()) {
+                        failures.add(line.trim());
+                    }
+                }
+            } catch (IOException e) {
+                LOGGER.warn("Unable to read failure file ({})", failureFile, e);
+            }
+        }
+        return failures;
+    }
+    
+    /**
+     * Merge the outcomes of the current run into the failure file.
+     */
+    private static void saveFailures() {
+        if (OUTCOMES.isEmpty()) {
+            return;
+        }
+        
+        Path failureFile = getFailureFile();
+        Set<String> failures = new TreeSet<>(loadFailures(failureFile));
+        for (Map.Entry<String, Boolean> entry : OUTCOMES.entrySet()) {
+            if (entry.getValue()) {
+                failures.add(entry.getKey());
+            } else {
+                failures.remove(entry.getKey());
+            }
+        }
+        
+        try {
+            Path parent = failureFile.toAbsolutePath().getParent();
+            Files.createDirectories(parent);
+            Path tempFile = Files.createTempFile(parent, "junit-failures", ".tmp");
+            List<String> lines = new ArrayList<>(failures);
+            Files.write(tempFile, lines);
+            Files.move(tempFile, failureFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            LOGGER.warn("Unable to write failure file ({})", failureFile, e);
+        }
+    }
+}
@@ -0,0 +1,253 @@
+package com.nordstrom.automation.junit;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.junit.Test;
+import org.junit.runners.model.FrameworkMethod;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.nordstrom.automation.junit.JUnitConfig.JUnitSettings;
+
+/**
+ * This method watcher measures the heap allocation and CPU time of each test and fixture method invocation on the
+ * invoking thread. Measurements are aggregated per test method, per fixture method, and per test class, and a report
+ * is logged when the JVM shuts down. Test methods whose allocation exceeds the {@link JUnitSettings#ALLOCATION_LIMIT
+ * ALLOCATION_LIMIT} budget or whose CPU time exceeds the {@link JUnitSettings#CPU_TIME_LIMIT CPU_TIME_LIMIT} budget
+ * are flagged with a warning as they finish, and are listed in the report.
+ * <p>
+ * Allocation is measured with {@code com.sun.management.ThreadMXBean#getThreadAllocatedBytes}; on JVMs that don't
+ * provide this extension, only CPU time is measured.
+ * <p>
+ * To meter test resources, declare this class in the
+ * <b>META-INF/services/com.nordstrom.automation.junit.MethodWatcher</b> provider configuration file.
+ */
+public class ResourceMeter implements MethodWatcher {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ResourceMeter.class);
+    private static final ThreadMXBean THREAD_BEAN = ManagementFactory.getThreadMXBean();
+    private static final com.sun.management.ThreadMXBean ALLOCATION_BEAN = getAllocationBean();
+    private static final ThreadLocal<Deque<long[]>> STARTS = ThreadLocal.withInitial(ArrayDeque::new);
+    private static final Map<String, Usage> METHOD_USAGE = new ConcurrentHashMap<>();
+    private static final Map<String, Usage> CLASS_USAGE = new ConcurrentHashMap<>();
+    private static final Set<String> OVER_BUDGET = ConcurrentHashMap.newKeySet();
+
+    static {
+        Runtime.getRuntime().addShutdownHook(LifecycleHooks.getShutdownHook(ResourceMeter::logReport));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void beforeInvocation(Object target, FrameworkMethod method, Object... params) {
+        STARTS.get().push(new long[] {getAllocatedBytes(), getCpuTime()});
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void afterInvocation(Object target, FrameworkMethod method, Throwable thrown) {
+        long[] start = STARTS.get().poll();
+        if (start == null) {
+            return;
+        }
+
+        long allocated = (start[0] < 0) ? 0 : getAllocatedBytes() - start[0];
+        long cpuTime = (start[1] < 0) ? 0 : getCpuTime() - start[1];
+
+        Class<?> testClass = (target != null) ? LifecycleHooks.getInstanceClass(target) : method.getDeclaringClass();
+        boolean isTest = (method.getAnnotation(Test.class) != null);
+        String methodName = testClass.getName() + "#" + method.getName();
+
+        METHOD_USAGE.computeIfAbsent(methodName, key -> new Usage(isTest)).add(allocated, cpuTime);
+        CLASS_USAGE.computeIfAbsent(testClass.getName(), key -> new Usage(false)).add(allocated, cpuTime);
+
+        if (isTest && isOverBudget(allocated, cpuTime)) {
+            OVER_BUDGET.add(methodName);
+            LOGGER.warn("{} exceeded its resource budget: {} bytes allocated, {} ms CPU time", methodName, allocated,
+                            TimeUnit.NANOSECONDS.toMillis(cpuTime));
+        }
+    }
+
+    /**
+     * Get the total heap allocation of the specified test or fixture method.
+     *
+     * @param methodName method name as <i>class#method</i>
+     * @return allocated bytes; 0 if the method hasn't run
+     */
+    public static long getAllocatedBytes(String methodName) {
+        Usage usage = METHOD_USAGE.get(methodName);
+        return (usage != null) ? usage.allocated.sum() : 0;
+    }
+
+    /**
+     * Get the total CPU time of the specified test or fixture method.
+     *
+     * @param methodName method name as <i>class#method</i>
+     * @return CPU time in nanoseconds; 0 if the method hasn't run
+     */
+    public static long getCpuTime(String methodName) {
+        Usage usage = METHOD_USAGE.get(methodName);
+        return (usage != null) ? usage.cpuTime.sum() : 0;
+    }
+
+    /**
+     * Get the total heap allocation of the test and fixture methods of the specified test class.
+     *
+     * @param className test class name
+     * @return allocated bytes; 0 if the class hasn't run
+     */
+    public static long getClassAllocatedBytes(String className) {
+        Usage usage = CLASS_USAGE.get(className);
+        return (usage != null) ? usage.allocated.sum() : 0;
+    }
+
+    /**
+     * Get the total CPU time of the test and fixture methods of the specified test class.
+     *
+     * @param className test class name
+     * @return CPU time in nanoseconds; 0 if the class hasn't run
+     */
+    public static long getClassCpuTime(String className) {
+        Usage usage = CLASS_USAGE.get(className);
+        return (usage != null) ? usage.cpuTime.sum() : 0;
+    }
+
+    /**
+     * Get the test methods that exceeded their resource budget.
+     *
+     * @return unmodifiable set of method names as <i>class#method</i>
+     */
+    public static Set<String> getOverBudget() {
+        return Collections.unmodifiableSet(OVER_BUDGET);
+    }
+
+    /**
+     * Determine if the specified measurements exceed the configured budget.
+     *
+     * @param allocated allocated bytes
+     * @param cpuTime CPU time in nanoseconds
+     * @return {@code true} if either measurement exceeds its budget; otherwise {@code false}
+     */
+    private static boolean isOverBudget(long allocated, long cpuTime) {
+        JUnitConfig.Snapshot snapshot = JUnitConfig.getSnapshot();
+        long allocationLimit = snapshot.getAllocationLimit();
+        long cpuTimeLimit = snapshot.getCpuTimeLimit();
+        return ((allocationLimit > 0) && (allocated > allocationLimit))
+                        || ((cpuTimeLimit > 0) && (cpuTime > TimeUnit.MILLISECONDS.toNanos(cpuTimeLimit)));
+    }
+
+    /**
+     * Get the bytes allocated so far by the current thread.
+     *
+     * @return allocated bytes; -1 if allocation can't be measured
+     */
+    private static long getAllocatedBytes() {
+        return (ALLOCATION_BEAN != null) ? ALLOCATION_BEAN.getThreadAllocatedBytes(Thread.currentThread().getId()) : -1;
+    }
+
+    /**
+     * Get the CPU time consumed so far by the current thread.
+     *
+     * @return CPU time in nanoseconds; -1 if CPU time can't be measured
+     */
+    private static long getCpuTime() {
+        return THREAD_BEAN.isCurrentThreadCpuTimeSupported() ? THREAD_BEAN.getCurrentThreadCpuTime() : -1;
+    }
+
+    /**
+     * Get the thread bean extension that measures allocation, enabling allocation measurement if needed.
+     *
+     * @return allocation-measuring thread bean; {@code null} if unsupported
+     */
+    private static com.sun.management.ThreadMXBean getAllocationBean() {
+        try {
+            if (THREAD_BEAN instanceof com.sun.management.ThreadMXBean) {
+                com.sun.management.ThreadMXBean bean = (com.sun.management.ThreadMXBean) THREAD_BEAN;
+                if (bean.isThreadAllocatedMemorySupported()) {
+                    bean.setThreadAllocatedMemoryEnabled(true);
+                    return bean;
+                }
+            }
+        } catch (LinkageError | UnsupportedOperationException e) {
+            // handled below
+        }
+        LOGGER.warn("Thread allocation measurement is unsupported; only CPU time will be metered");
+        return null;
+    }
+
+    /**
+     * Log the resource usage report.
+     */
+    private static void logReport() {
+        if (METHOD_USAGE.isEmpty()) {
+            return;
+        }
+
+        StringBuilder report = new StringBuilder("Test resource usage (allocated bytes, CPU ms, invocations):");
+        for (Map.Entry<String, Usage> entry : new TreeMap<>(CLASS_USAGE).entrySet()) {
+            appendLine(report, "", entry.getKey(), entry.getValue());
+            String prefix = entry.getKey() + "#";
+            for (Map.Entry<String, Usage> method : new TreeMap<>(METHOD_USAGE).entrySet()) {
+                if (method.getKey().startsWith(prefix)) {
+                    String kind = method.getValue().isTest ? "test " : "fixture ";
+                    appendLine(report, "    " + kind, method.getKey().substring(prefix.length()), method.getValue());
+                }
+            }
+        }
+        if (!OVER_BUDGET.isEmpty()) {
+            List<String> overBudget = new ArrayList<>(OVER_BUDGET);
+            Collections.sort(overBudget);
+            report.append("\nTests over budget: ").append(overBudget);
+        }
+        LOGGER.info(report.toString());
+    }
+
+    /**
+     * Append a report line for the specified usage.
+     *
+     * @param report report builder
+     * @param prefix line prefix
+     * @param name subject name
+     * @param usage resource usage
+     */
+    private static void appendLine(StringBuilder report, String prefix, String name, Usage usage) {
+        report.append('\n').append(prefix).append(name).append(": ").append(usage.allocated.sum()).append(", ")
+                        .append(TimeUnit.NANOSECONDS.toMillis(usage.cpuTime.sum())).append(", ")
+                        .append(usage.count.sum());
+    }
+
+    /**
+     * This class accumulates the resource usage of a method or class.
+     */
+    private static class Usage {
+        private final boolean isTest;
+        private final LongAdder allocated = new LongAdder();
+        private final LongAdder cpuTime = new LongAdder();
+        private final LongAdder count = new LongAdder();
+
+        Usage(boolean isTest) {
+            this.isTest = isTest;
+        }
+
+        void add(long allocatedBytes, long cpuNanos) {
+            allocated.add(allocatedBytes);
+            cpuTime.add(cpuNanos);
+            count.increment();
+        }
+    }
+}
@@ -43,11 +43,12 @@ public class RetryHandler {
     static void runChildWithRetry(Object runner, final FrameworkMethod method, RunNotifier notifier, int maxRetry) {
         boolean doRetry = false;
         Statement statement = invoke(runner, "methodBlock", method);
-        Description description = invoke(runner, "describeChild", method);
+        Description description = LifecycleHooks.describeChildOf(runner, method);
         AtomicInteger count = new AtomicInteger(maxRetry);
         
         do {
             EachTestNotifier eachNotifier = new EachTestNotifier(notifier, description);
+            Object event = JfrEvents.begin(JfrEvents.RETRY);
             
             eachNotifier.fireTestStarted();
             try {
@@ -56,6 +57,7 @@ public class RetryHandler {
             } catch (AssumptionViolatedException thrown) {
                 doRetry = doRetry(method, thrown, count);
                 if (doRetry) {
+                    commitRetryEvent(event, method, maxRetry - count.get(), thrown);
                     description = RetriedTest.proxyFor(description, thrown);
                     RunReflectiveCall.fireTestIgnored(runner, method);
                     eachNotifier.fireTestIgnored();
@@ -65,6 +67,7 @@ public class RetryHandler {
             } catch (Throwable thrown) {
                 doRetry = doRetry(method, thrown, count);
                 if (doRetry) {
+                    commitRetryEvent(event, method, maxRetry - count.get(), thrown);
                     description = RetriedTest.proxyFor(description, thrown);
                     RunReflectiveCall.fireTestIgnored(runner, method);
                     eachNotifier.fireTestIgnored();
@@ -74,9 +77,29 @@ public class RetryHandler {
             } finally {
                 eachNotifier.fireTestFinished();
             }
+            
+            if (doRetry) {
+                // report only the outcome of the final attempt
+                RunReflectiveCall.clearThrowable();
+            }
         } while (doRetry);
     }
     
+    /**
+     * Commit the JFR event for a failed attempt that will be retried.
+     * 
+     * @param event event object from {@link JfrEvents#begin(JfrEvents.EventKind)}; ignored if {@code null}
+     * @param method failed test method
+     * @param attempt number of the failed attempt (1 for the initial attempt)
+     * @param thrown exception for the failed attempt
+     */
+    private static void commitRetryEvent(Object event, FrameworkMethod method, int attempt, Throwable thrown) {
+        if (event != null) {
+            JfrEvents.commit(event, method.getDeclaringClass().getName(), method.getName(), attempt,
+                            thrown.getClass().getName());
+        }
+    }
+    
     /**
      * Determine if the indicated failure should be retried.
      * 
@@ -89,13 +112,14 @@ public class RetryHandler {
         boolean doRetry = false;
         if ((retryCounter.decrementAndGet() > -1) && isRetriable(method, thrown)) {
             LOGGER.warn("### RETRY ### {}", method);
+            RunStatistics.testRetried();
             doRetry = true;
         }
         return doRetry;
     }
 
     /**
-     * Get the configured maximum retry count for failed tests ({@link JUnitSetting#MAX_RETRY MAX_RETRY}).
+     * Get the configured maximum retry count for failed tests ({@link JUnitSettings#MAX_RETRY MAX_RETRY}).
      * <p>
      * <b>NOTE</b>: If the specified method or the class that declares it are marked with the {@code @NoRetry}
      * annotation, this method returns zero (0).
@@ -115,7 +139,7 @@ public class RetryHandler {
         // if method isn't ignored or excluded from retry attempts
         if (Boolean.FALSE.equals(invoke(runner, "isIgnored", method)) && (noRetryOnMethod == null) && (noRetryOnClass == null)) {
             // get configured maximum retry count
-            maxRetry = JUnitConfig.getConfig().getInteger(JUnitSettings.MAX_RETRY.key(), Integer.valueOf(0));
+            maxRetry = JUnitConfig.getSnapshot().getMaxRetry();
         }
         
         return maxRetry;
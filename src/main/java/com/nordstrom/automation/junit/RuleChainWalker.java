@@ -7,35 +7,46 @@ import java.util.Optional;
 import org.junit.rules.RuleChain;
 import org.junit.rules.TestRule;
 
-import com.nordstrom.automation.junit.JUnitConfig.JUnitSettings;
 import com.nordstrom.common.base.UncheckedThrow;
 
 /**
  * This is a static utility class that uses reflection to access the list of {@link TestRule} objects inside a
  * {@link RuleChain}.
+ * <p>
+ * <b>NOTE</b>: The rule list field of {@link RuleChain} is resolved once and reused. Rule chains themselves aren't
+ * cached, because the rules they hold (e.g. - {@link ArtifactCollector}) typically reference the test instance that
+ * owns the chain.
  */
 public class RuleChainWalker {
     
+    private static volatile Field ruleListField;
+    
     private RuleChainWalker() {
         throw new AssertionError("RuleChainWalker is a static utility class that cannot be instantiated");
     }
     
     /**
      * Get reference to an instance of the specified test rule type on the supplied rule chain.
+     * <p>
+     * <b>NOTE</b>: If the chain holds no rule of exactly the specified type, this method returns the first rule that
+     * is an instance of the specified type (e.g. - a subclass or implementation of it).
      * 
      * @param <T> test rule type
      * @param ruleChain rule chain to be walked
      * @param ruleType test rule type
      * @return optional test rule instance
      */
-    @SuppressWarnings("unchecked")
     public static <T extends TestRule> Optional<T> getAttachedRule(RuleChain ruleChain, Class<T> ruleType) {
+        TestRule assignable = null;
         for (TestRule rule : getRuleList(ruleChain)) {
             if (rule.getClass() == ruleType) {
-                return Optional.of((T) rule);
+                return Optional.of(ruleType.cast(rule));
+            }
+            if ((assignable == null) && ruleType.isInstance(rule)) {
+                assignable = rule;
             }
         }
-        return Optional.empty();
+        return Optional.ofNullable(ruleType.cast(assignable));
     }
     
     /**
@@ -46,15 +57,30 @@ public class RuleChainWalker {
      */
     @SuppressWarnings("unchecked")
     private static List<TestRule> getRuleList(RuleChain ruleChain) {
-        Field ruleChainList;
         try {
-            String fieldName = JUnitConfig.getConfig().getString(JUnitSettings.RULE_CHAIN_LIST.key());
-            ruleChainList = RuleChain.class.getDeclaredField(fieldName);
-            ruleChainList.setAccessible(true);
-            return (List<TestRule>) ruleChainList.get(ruleChain);
-        } catch (NoSuchFieldException | SecurityException | IllegalArgumentException | IllegalAccessException e) {
+            return (List<TestRule>) getRuleListField().get(ruleChain);
+        } catch (IllegalArgumentException | IllegalAccessException e) {
             throw UncheckedThrow.throwUnchecked(e);
         }
     }
-
+    
+    /**
+     * Get the rule list field of {@link RuleChain}, resolving it on first use.
+     * 
+     * @return accessible rule list field
+     */
+    private static Field getRuleListField() {
+        String fieldName = JUnitConfig.getSnapshot().getRuleChainList();
+        Field field = ruleListField;
+        if ((field == null) || !field.getName().equals(fieldName)) {
+            try {
+                field = RuleChain.class.getDeclaredField(fieldName);
+                field.setAccessible(true);
+                ruleListField = field;
+            } catch (NoSuchFieldException | SecurityException e) {
+                throw UncheckedThrow.throwUnchecked(e);
+            }
+        }
+        return field;
+    }
 }
@@ -32,6 +32,7 @@ public class RunChild {
         boolean isIgnored = (null != method.getAnnotation(Ignore.class));
         
         if (isIgnored) {
+            RunStatistics.testIgnored();
             RunReflectiveCall.fireTestIgnored(runner, method);
         }
         
@@ -10,10 +10,12 @@ import java.util.ServiceLoader;
 import java.util.concurrent.Callable;
 import java.util.concurrent.ConcurrentHashMap;
 
+import org.junit.Test;
 import org.junit.internal.AssumptionViolatedException;
 import org.junit.runners.model.FrameworkMethod;
 import org.junit.runners.model.TestClass;
 
+import com.nordstrom.automation.junit.WatcherSampler.Role;
 import com.nordstrom.common.base.UncheckedThrow;
 
 import net.bytebuddy.implementation.bind.annotation.RuntimeType;
@@ -31,7 +33,9 @@ public class RunReflectiveCall {
     private static final ServiceLoader<RunWatcher> runWatcherLoader;
     
     private static final Map<FrameworkMethod, Object> METHOD_TO_TARGET = new ConcurrentHashMap<>();
-    private static final Map<TestClass, AtomicTest> TESTCLASS_TO_ATOMICTEST = new ConcurrentHashMap<>();
+    private static final Map<ChildKey, AtomicTest> CHILD_TO_ATOMICTEST = new ConcurrentHashMap<>();
+    private static final ThreadLocal<AtomicTest> THREAD_TO_ATOMICTEST = new ThreadLocal<>();
+    private static final Map<TestClass, AtomicTest> TESTCLASS_TO_RELEASED = new ConcurrentHashMap<>();
   
     static {
         methodWatcherLoader = ServiceLoader.load(MethodWatcher.class);
@@ -77,58 +81,154 @@ public class RunReflectiveCall {
 
         Object result = null;
         Throwable thrown = null;
-        for (MethodWatcher watcher : methodWatcherLoader) {
-            watcher.beforeInvocation(target, method, params);
-        }
+        fireBeforeInvocation(target, method, params);
 
+        Object event = JfrEvents.begin(JfrEvents.INVOCATION);
+        long startTime = InvocationBatcher.isEnabled() ? System.nanoTime() : 0;
+        boolean recording = TestImpact.enterInvocation(target, method);
         try {
             result = LifecycleHooks.callProxy(proxy);
         } catch (Throwable t) {
             thrown = t;
         } finally {
-            for (MethodWatcher watcher : methodWatcherLoader) {
-                watcher.afterInvocation(target, method, thrown);
+            TestImpact.exitInvocation(recording);
+            if (event != null) {
+                JfrEvents.commit(event, method.getDeclaringClass().getName(), method.getName(),
+                                method.getAnnotation(Test.class) == null, thrown != null);
+            }
+            fireAfterInvocation(target, method, thrown);
+            if (InvocationBatcher.isEnabled()) {
+                InvocationBatcher.record(target, method, startTime, thrown);
             }
         }
 
         if (thrown != null) {
-            getAtomicTestFor(method).setThrowable(thrown);
+            // static configuration methods run outside of any atomic test
+            AtomicTest atomicTest = THREAD_TO_ATOMICTEST.get();
+            // test methods with timeouts run on a separate thread
+            if ((atomicTest == null) && (method.getAnnotation(Test.class) != null)) {
+                atomicTest = findAtomicTest(method);
+            }
+            if (atomicTest != null) {
+                atomicTest.setThrowable(thrown);
+            }
             throw UncheckedThrow.throwUnchecked(thrown);
         }
 
         return result;
     }
     
+    /**
+     * Invoke to tell method watchers that a method is about to be invoked.
+     * <p>
+     * <b>NOTE</b>: {@link SampledWatcher Sampled} watchers are only notified of the invocations selected by their
+     * sampling policies. The same selection applies to {@link #fireAfterInvocation(Object, FrameworkMethod, Throwable)}.
+     * 
+     * @param target "enhanced" object upon which the method will be invoked
+     * @param method {@link FrameworkMethod} object for the method
+     * @param params method invocation parameters
+     */
+    private static void fireBeforeInvocation(Object target, FrameworkMethod method, Object[] params) {
+        for (MethodWatcher watcher : methodWatcherLoader) {
+            if (!WatcherSampler.enter(watcher, Role.INVOCATION, method)) {
+                continue;
+            }
+            if (AsyncDelivery.isAsync(watcher)) {
+                AsyncDelivery.post(watcher, () -> watcher.beforeInvocation(target, method, params));
+            } else {
+                watcher.beforeInvocation(target, method, params);
+            }
+        }
+    }
+    
+    /**
+     * Invoke to tell method watchers that a method has been invoked.
+     * 
+     * @param target "enhanced" object upon which the method was invoked
+     * @param method {@link FrameworkMethod} object for the method
+     * @param thrown exception thrown by method; {@code null} on normal completion
+     */
+    private static void fireAfterInvocation(Object target, FrameworkMethod method, Throwable thrown) {
+        for (MethodWatcher watcher : methodWatcherLoader) {
+            if (!WatcherSampler.exit(watcher, Role.INVOCATION)) {
+                continue;
+            }
+            if (AsyncDelivery.isAsync(watcher)) {
+                AsyncDelivery.post(watcher, () -> watcher.afterInvocation(target, method, thrown));
+            } else {
+                watcher.afterInvocation(target, method, thrown);
+            }
+        }
+    }
+    
     /**
      * Invoke to tell listeners that an atomic test is about to start.
+     * <p>
+     * <b>NOTE</b>: This method must be invoked on the thread that will run the atomic test. The new atomic test is
+     * bound to this thread until it's released by {@link #fireTestFinished(AtomicTest)}. {@link SampledWatcher
+     * Sampled} watchers are only notified of the atomic tests selected by their sampling policies.
      * 
      * @param testClass {@link TestClass} object for the atomic test
      * @param runnable {@link Runnable} object that wraps the atomic test
+     * @return {@link AtomicTest} object; {@code null} if the specified runnable is a suite
      */
-    static void fireTestStarted(TestClass testClass, Runnable runnable) {
+    static AtomicTest fireTestStarted(TestClass testClass, Runnable runnable) {
         AtomicTest atomicTest = createAtomicTest(testClass, runnable);
         if (atomicTest != null) {
+            RunStatistics.testStarted();
             for (RunWatcher watcher : runWatcherLoader) {
-                watcher.testStarted(atomicTest.getIdentity(), atomicTest.getTestClass());
+                if (!WatcherSampler.enter(watcher, Role.TEST, atomicTest.getIdentity())) {
+                    continue;
+                }
+                if (AsyncDelivery.isAsync(watcher)) {
+                    AsyncDelivery.post(watcher,
+                                    () -> watcher.testStarted(atomicTest.getIdentity(), atomicTest.getTestClass()));
+                } else {
+                    watcher.testStarted(atomicTest.getIdentity(), atomicTest.getTestClass());
+                }
             }
         }
+        return atomicTest;
     }
     
     /**
-     * Invoke to tell listeners that an atomic test has finished.
+     * Invoke to tell listeners that an atomic test has finished. Once listeners have been notified, the specified
+     * atomic test is released.
      * 
-     * @param testClass {@link TestClass} object for the atomic test
+     * @param atomicTest {@link AtomicTest} object (may be {@code null})
      */
-    static void fireTestFinished(TestClass testClass) {
-        AtomicTest atomicTest = TESTCLASS_TO_ATOMICTEST.get(testClass);
+    static void fireTestFinished(AtomicTest atomicTest) {
         if (atomicTest != null) {
-            for (RunWatcher watcher : runWatcherLoader) {
-                notifyIfTestFailed(watcher, atomicTest);
-                watcher.testFinished(atomicTest.getIdentity(), atomicTest.getTestClass());
+            try {
+                RunStatistics.testFinished(atomicTest.getThrowable());
+                for (RunWatcher watcher : runWatcherLoader) {
+                    if (!WatcherSampler.exit(watcher, Role.TEST)) {
+                        continue;
+                    }
+                    if (AsyncDelivery.isAsync(watcher)) {
+                        AsyncDelivery.post(watcher, () -> notifyTestFinished(watcher, atomicTest));
+                    } else {
+                        notifyTestFinished(watcher, atomicTest);
+                    }
+                }
+            } finally {
+                releaseAtomicTest(atomicTest);
             }
         }
     }
     
+    /**
+     * Notify the indicated run watcher that the specified atomic test has finished, preceded by notification of its
+     * failure if it failed.
+     * 
+     * @param watcher {@link RunWatcher} object
+     * @param atomicTest {@link AtomicTest} object
+     */
+    private static void notifyTestFinished(RunWatcher watcher, AtomicTest atomicTest) {
+        notifyIfTestFailed(watcher, atomicTest);
+        watcher.testFinished(atomicTest.getIdentity(), atomicTest.getTestClass());
+    }
+    
     /**
      * Notify the indicated method watcher if the specified atomic test failed.
      * 
@@ -147,6 +247,16 @@ public class RunReflectiveCall {
         }
     }
     
+    /**
+     * Clear the exception recorded for the atomic test that's running on the current thread.
+     */
+    static void clearThrowable() {
+        AtomicTest atomicTest = THREAD_TO_ATOMICTEST.get();
+        if (atomicTest != null) {
+            atomicTest.setThrowable(null);
+        }
+    }
+    
     /**
      * Invoke to tell listeners that an atomic test was ignored.
      * 
@@ -156,7 +266,14 @@ public class RunReflectiveCall {
     static void fireTestIgnored(Object runner, FrameworkMethod method) {
         TestClass testClass = getTestClassOf(runner);
         for (RunWatcher watcher : runWatcherLoader) {
-            watcher.testIgnored(method, testClass);
+            if (!WatcherSampler.sample(watcher, Role.TEST, method)) {
+                continue;
+            }
+            if (AsyncDelivery.isAsync(watcher)) {
+                AsyncDelivery.post(watcher, () -> watcher.testIgnored(method, testClass));
+            } else {
+                watcher.testIgnored(method, testClass);
+            }
         }
     }
     
@@ -212,20 +329,63 @@ public class RunReflectiveCall {
         
         if (child instanceof FrameworkMethod) {
             atomicTest = new AtomicTest(runner, testClass, (FrameworkMethod) child);
-            TESTCLASS_TO_ATOMICTEST.put(testClass, atomicTest);
+            CHILD_TO_ATOMICTEST.put(new ChildKey(runner, atomicTest.getIdentity()), atomicTest);
+            THREAD_TO_ATOMICTEST.set(atomicTest);
         }
         
         return atomicTest;
     }
     
+    /**
+     * Get the child object that's run by the specified runnable.
+     * 
+     * @param runnable {@link Runnable} object that wraps a child of a parent runner
+     * @return child object ({@code FrameworkMethod} or runner); {@code null} if the child couldn't be determined
+     */
+    static Object getChildOf(Runnable runnable) {
+        try {
+            return getFieldValue(runnable, "val$each");
+        } catch (IllegalAccessException | NoSuchFieldException | SecurityException e) {
+            return null;
+        }
+    }
+    
+    /**
+     * Release the specified atomic test, removing its association with its runner and core method and the current
+     * thread. The released test remains available as the most recent atomic test of its test class.
+     * 
+     * @param atomicTest {@link AtomicTest} object
+     */
+    private static void releaseAtomicTest(AtomicTest atomicTest) {
+        TESTCLASS_TO_RELEASED.put(atomicTest.getTestClass(), atomicTest);
+        CHILD_TO_ATOMICTEST.remove(new ChildKey(atomicTest.getRunner(), atomicTest.getIdentity()), atomicTest);
+        if (THREAD_TO_ATOMICTEST.get() == atomicTest) {
+            THREAD_TO_ATOMICTEST.remove();
+        }
+    }
+    
     /**
      * Get the atomic test associated with the specified test class.
+     * <p>
+     * <b>NOTE</b>: If the current thread is running an atomic test of the specified test class, this is the atomic
+     * test that's returned. Otherwise, this method returns any active atomic test of the specified test class, or
+     * failing that, the most recently released atomic test of the specified test class (e.g. - when called from
+     * {@link TestClassWatcher#testClassFinished(TestClass) testClassFinished}).
      * 
      * @param testClass {@link TestClass} object
      * @return {@link AtomicTest} object for the specified test class
      */
     public static AtomicTest getAtomicTestFor(TestClass testClass) {
-        AtomicTest atomicTest = TESTCLASS_TO_ATOMICTEST.get(testClass);
+        AtomicTest atomicTest = THREAD_TO_ATOMICTEST.get();
+        if ((atomicTest != null) && atomicTest.getTestClass().equals(testClass)) {
+            return atomicTest;
+        }
+        for (AtomicTest activeTest : CHILD_TO_ATOMICTEST.values()) {
+            if (activeTest.getTestClass().equals(testClass)) {
+                return activeTest;
+            }
+        }
+        atomicTest = TESTCLASS_TO_RELEASED.get(testClass);
         if (atomicTest != null) {
             return atomicTest;
         }
@@ -234,16 +394,80 @@ public class RunReflectiveCall {
     
     /**
      * Get the atomic test associated with the specified method.
+     * <p>
+     * <b>NOTE</b>: If the current thread is running an atomic test that includes the specified method, this is the
+     * atomic test that's returned. Otherwise, this method returns any active atomic test whose core method is the
+     * specified method, or failing that, any active atomic test that includes it, or failing that, the most recently
+     * released atomic test that includes it.
      * 
      * @param method {@link FrameworkMethod} object
      * @return {@link AtomicTest} object for the specified method
      */
     public static AtomicTest getAtomicTestFor(FrameworkMethod method) {
-        for (AtomicTest atomicTest : TESTCLASS_TO_ATOMICTEST.values()) {
-            if (atomicTest.includes(method)) {
-                return atomicTest;
+        AtomicTest atomicTest = THREAD_TO_ATOMICTEST.get();
+        if ((atomicTest != null) && atomicTest.includes(method)) {
+            return atomicTest;
+        }
+        atomicTest = findAtomicTest(method);
+        if (atomicTest != null) {
+            return atomicTest;
+        }
+        for (AtomicTest activeTest : CHILD_TO_ATOMICTEST.values()) {
+            if (activeTest.includes(method)) {
+                return activeTest;
+            }
+        }
+        for (AtomicTest releasedTest : TESTCLASS_TO_RELEASED.values()) {
+            if (releasedTest.includes(method)) {
+                return releasedTest;
             }
         }
         throw new IllegalArgumentException("No associated atomic test was found for the specified method");
     }
+    
+    /**
+     * Find an active atomic test whose core method is the specified method.
+     * 
+     * @param method {@link FrameworkMethod} object
+     * @return {@link AtomicTest} object; {@code null} if no active atomic test has the specified core method
+     */
+    private static AtomicTest findAtomicTest(FrameworkMethod method) {
+        for (AtomicTest activeTest : CHILD_TO_ATOMICTEST.values()) {
+            if (activeTest.getIdentity().equals(method)) {
+                return activeTest;
+            }
+        }
+        return null;
+    }
+    
+    /**
+     * This class is the key of an active atomic test: its runner and its core method. Runners are compared by
+     * identity, so concurrent runs of the same method by different runners (e.g. - parameterized runs) are distinct.
+     */
+    private static final class ChildKey {
+        private final Object runner;
+        private final FrameworkMethod method;
+        
+        ChildKey(Object runner, FrameworkMethod method) {
+            this.runner = runner;
+            this.method = method;
+        }
+        
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof ChildKey)) {
+                return false;
+            }
+            ChildKey that = (ChildKey) obj;
+            return (runner == that.runner) && method.equals(that.method);
+        }
+        
+        @Override
+        public int hashCode() {
+            return 31 * System.identityHashCode(runner) + method.hashCode();
+        }
+    }
 }
@@ -0,0 +1,325 @@
+package com.nordstrom.automation.junit;
+
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.management.JMException;
+import javax.management.ObjectName;
+import javax.management.StandardMBean;
+
+import org.junit.internal.AssumptionViolatedException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * This class maintains live statistics for the test run: the counts of atomic tests started, passed, failed, failed
+ * on assumptions, and ignored, the count of retried attempts, the count of captured artifacts, and the cumulative
+ * duration of atomic tests. These statistics are fed directly from the lifecycle hooks, so no watcher or run listener
+ * needs to be declared.
+ * <p>
+ * Counters are {@link LongAdder striped}, so parallel test threads don't contend with each other to update them, and
+ * they can be read at any time. These statistics are exposed through the {@value #OBJECT_NAME} MBean, and a summary
+ * is logged when the JVM shuts down.
+ */
+public final class RunStatistics {
+
+    /** object name of the run statistics MBean */
+    public static final String OBJECT_NAME = "com.nordstrom.automation.junit:type=RunStatistics";
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(RunStatistics.class);
+    private static final LongAdder STARTED = new LongAdder();
+    private static final LongAdder PASSED = new LongAdder();
+    private static final LongAdder FAILED = new LongAdder();
+    private static final LongAdder ASSUMPTION_FAILED = new LongAdder();
+    private static final LongAdder IGNORED = new LongAdder();
+    private static final LongAdder RETRIED = new LongAdder();
+    private static final LongAdder ARTIFACTS = new LongAdder();
+    private static final LongAdder TEST_NANOS = new LongAdder();
+    private static final AtomicBoolean REGISTERED = new AtomicBoolean();
+    private static final ThreadLocal<Tracker> TRACKER = ThreadLocal.withInitial(Tracker::new);
+
+    static {
+        Runtime.getRuntime().addShutdownHook(LifecycleHooks.getShutdownHook(RunStatistics::logSummary));
+    }
+
+    private RunStatistics() {
+        throw new AssertionError("RunStatistics is a static utility class that cannot be instantiated");
+    }
+
+    /**
+     * Register the run statistics MBean with the platform MBean server.
+     */
+    static void registerMBean() {
+        if (REGISTERED.compareAndSet(false, true)) {
+            try {
+                ManagementFactory.getPlatformMBeanServer().registerMBean(
+                                new StandardMBean(new View(), RunStatisticsMBean.class), new ObjectName(OBJECT_NAME));
+            } catch (JMException e) {
+                LOGGER.warn("Unable to register run statistics MBean", e);
+            }
+        }
+    }
+
+    /**
+     * Record the start of an atomic test on the current thread.
+     */
+    static void testStarted() {
+        Tracker tracker = TRACKER.get();
+        tracker.active = true;
+        tracker.ignored = false;
+        tracker.startTime = System.nanoTime();
+        STARTED.increment();
+    }
+
+    /**
+     * Record that the atomic test running on the current thread is ignored.
+     */
+    static void testIgnored() {
+        Tracker tracker = TRACKER.get();
+        if (tracker.active) {
+            tracker.ignored = true;
+        } else {
+            IGNORED.increment();
+        }
+    }
+
+    /**
+     * Record the outcome of the atomic test running on the current thread.
+     *
+     * @param thrown exception thrown by the atomic test; {@code null} if it passed
+     */
+    static void testFinished(Throwable thrown) {
+        Tracker tracker = TRACKER.get();
+        if (!tracker.active) {
+            return;
+        }
+        tracker.active = false;
+        TEST_NANOS.add(System.nanoTime() - tracker.startTime);
+        if (tracker.ignored) {
+            IGNORED.increment();
+        } else if (thrown == null) {
+            PASSED.increment();
+        } else if (thrown instanceof AssumptionViolatedException) {
+            ASSUMPTION_FAILED.increment();
+        } else {
+            FAILED.increment();
+        }
+    }
+
+    /**
+     * Record a failed attempt that will be retried.
+     */
+    static void testRetried() {
+        RETRIED.increment();
+    }
+
+    /**
+     * Record a captured artifact.
+     */
+    static void artifactCaptured() {
+        ARTIFACTS.increment();
+    }
+
+    /**
+     * Get the number of atomic tests that have started.
+     *
+     * @return count of started tests
+     */
+    public static long getStartedCount() {
+        return STARTED.sum();
+    }
+
+    /**
+     * Get the number of atomic tests that have passed.
+     *
+     * @return count of passed tests
+     */
+    public static long getPassedCount() {
+        return PASSED.sum();
+    }
+
+    /**
+     * Get the number of atomic tests that have failed.
+     *
+     * @return count of failed tests
+     */
+    public static long getFailedCount() {
+        return FAILED.sum();
+    }
+
+    /**
+     * Get the number of atomic tests that have failed on assumptions.
+     *
+     * @return count of tests with assumption failures
+     */
+    public static long getAssumptionFailedCount() {
+        return ASSUMPTION_FAILED.sum();
+    }
+
+    /**
+     * Get the number of atomic tests that were ignored.
+     *
+     * @return count of ignored tests
+     */
+    public static long getIgnoredCount() {
+        return IGNORED.sum();
+    }
+
+    /**
+     * Get the number of failed attempts that were retried.
+     *
+     * @return count of retried attempts
+     */
+    public static long getRetriedCount() {
+        return RETRIED.sum();
+    }
+
+    /**
+     * Get the number of artifacts that have been captured.
+     *
+     * @return count of captured artifacts
+     */
+    public static long getArtifactCount() {
+        return ARTIFACTS.sum();
+    }
+
+    /**
+     * Get the cumulative duration of the atomic tests that have finished.
+     *
+     * @return cumulative test time in nanoseconds
+     */
+    public static long getTestTime() {
+        return TEST_NANOS.sum();
+    }
+
+    /**
+     * Log a summary of run statistics.
+     */
+    private static void logSummary() {
+        if (STARTED.sum() > 0) {
+            LOGGER.info("JUnit Foundation run: {} tests started, {} passed, {} failed, {} assumption failures, "
+                            + "{} ignored; {} retries, {} artifacts captured; {} ms cumulative test time",
+                    STARTED.sum(), PASSED.sum(), FAILED.sum(), ASSUMPTION_FAILED.sum(), IGNORED.sum(),
+                    RETRIED.sum(), ARTIFACTS.sum(), TimeUnit.NANOSECONDS.toMillis(TEST_NANOS.sum()));
+        }
+    }
+
+    /**
+     * This interface defines the management view of the run statistics.
+     */
+    public interface RunStatisticsMBean {
+
+        /**
+         * Get the number of atomic tests that have started.
+         *
+         * @return count of started tests
+         */
+        long getStartedCount();
+
+        /**
+         * Get the number of atomic tests that have passed.
+         *
+         * @return count of passed tests
+         */
+        long getPassedCount();
+
+        /**
+         * Get the number of atomic tests that have failed.
+         *
+         * @return count of failed tests
+         */
+        long getFailedCount();
+
+        /**
+         * Get the number of atomic tests that have failed on assumptions.
+         *
+         * @return count of tests with assumption failures
+         */
+        long getAssumptionFailedCount();
+
+        /**
+         * Get the number of atomic tests that were ignored.
+         *
+         * @return count of ignored tests
+         */
+        long getIgnoredCount();
+
+        /**
+         * Get the number of failed attempts that were retried.
+         *
+         * @return count of retried attempts
+         */
+        long getRetriedCount();
+
+        /**
+         * Get the number of artifacts that have been captured.
+         *
+         * @return count of captured artifacts
+         */
+        long getArtifactCount();
+
+        /**
+         * Get the cumulative duration of the atomic tests that have finished.
+         *
+         * @return cumulative test time in nanoseconds
+         */
+        long getTestTime();
+    }
+
+    /**
+     * This class implements the management view of the run statistics.
+     */
+    private static class View implements RunStatisticsMBean {
+
+        @Override
+        public long getStartedCount() {
+            return RunStatistics.getStartedCount();
+        }
+
+        @Override
+        public long getPassedCount() {
+            return RunStatistics.getPassedCount();
+        }
+
+        @Override
+        public long getFailedCount() {
+            return RunStatistics.getFailedCount();
+        }
+
+        @Override
+        public long getAssumptionFailedCount() {
+            return RunStatistics.getAssumptionFailedCount();
+        }
+
+        @Override
+        public long getIgnoredCount() {
+            return RunStatistics.getIgnoredCount();
+        }
+
+        @Override
+        public long getRetriedCount() {
+            return RunStatistics.getRetriedCount();
+        }
+
+        @Override
+        public long getArtifactCount() {
+            return RunStatistics.getArtifactCount();
+        }
+
+        @Override
+        public long getTestTime() {
+            return RunStatistics.getTestTime();
+        }
+    }
+
+    /**
+     * This class tracks the atomic test running on a single thread.
+     */
+    private static class Tracker {
+        private boolean active;
+        private boolean ignored;
+        private long startTime;
+    }
+}
@@ -0,0 +1,42 @@
+package com.nordstrom.automation.junit;
+
+import static java.lang.annotation.ElementType.TYPE;
+import static java.lang.annotation.RetentionPolicy.RUNTIME;
+
+import java.lang.annotation.Retention;
+import java.lang.annotation.Target;
+
+/**
+ * Use this annotation to mark {@link MethodWatcher} and {@link RunWatcher} implementations that should only be
+ * notified of a sample of method invocations and atomic tests. This enables expensive diagnostic watchers (e.g. -
+ * stack capture, heap statistics) to run without multiplying the duration of the suite:
+ * 
+ * <blockquote><pre>
+ * &#64;SampledWatcher(every = 100, firstPerMethod = 5)
+ * public class HeapStatsWatcher implements MethodWatcher {
+ *     // watcher implementation goes here
+ * }</pre></blockquote>
+ * 
+ * Sampling decisions are made with counters that are shared by all threads. The decision made for the start of a
+ * method invocation or atomic test also applies to its end, so sampled watchers always receive matching pairs of
+ * notifications. Policies can also be specified (or overridden) by the
+ * {@link JUnitConfig.JUnitSettings#SAMPLED_WATCHERS SAMPLED_WATCHERS} setting.
+ */
+@Retention(RUNTIME)
+@Target(TYPE)
+public @interface SampledWatcher {
+    
+    /**
+     * Get the sampling interval.
+     * 
+     * @return deliver one of every <i>N</i> eligible notifications (default: 1 - every notification)
+     */
+    int every() default 1;
+    
+    /**
+     * Get the per-method sampling limit.
+     * 
+     * @return deliver notifications only for the first <i>K</i> invocations of each method (default: 0 - no limit)
+     */
+    int firstPerMethod() default 0;
+}
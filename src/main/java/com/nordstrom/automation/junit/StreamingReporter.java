@@ -0,0 +1,608 @@
+package com.nordstrom.automation.junit;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.Ignore;
+import org.junit.runner.Description;
+import org.junit.runner.Result;
+import org.junit.runner.notification.Failure;
+import org.junit.runner.notification.RunListener;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.nordstrom.automation.junit.JUnitConfig.JUnitSettings;
+import com.nordstrom.common.file.PathUtils;
+
+/**
+ * This run listener writes test results to disk as each test finishes, in a format that's compatible with the
+ * <b>JUnit XML</b> reports produced by the Maven Surefire plugin. Only the results of tests that are in progress are
+ * held in memory, so the footprint of the listener doesn't grow with the size of the run.
+ * <ul>
+ *     <li>The XML report is written to the file specified by the {@link JUnitSettings#REPORT_FILE REPORT_FILE}
+ *     setting. Its root {@code <testsuite>} element is written with padded placeholder attributes, which are
+ *     replaced with the final counts and run time when the element is completed at JVM shutdown.</li>
+ *     <li>If the {@link JUnitSettings#REPORT_JSON_FILE REPORT_JSON_FILE} setting is specified, each result is also
+ *     written as one line of JSON (<a href="http://ndjson.org">NDJSON</a>) to this file.</li>
+ * </ul>
+ * Failed attempts of tests that were {@link RetriedTest retried} are reported with the final attempt, as
+ * {@code <flakyFailure>} elements if the test eventually passed or {@code <rerunFailure>} elements if it didn't.
+ * The paths of artifacts captured by {@link ArtifactCollector artifact collectors} are reported as
+ * {@code [[ATTACHMENT|path]]} lines in the {@code <system-out>} element of each test. Failures outside of a test
+ * (e.g. - in a class-level fixture) are reported as a {@code <testcase>} named {@value #CLASS_METHOD}, which is the
+ * name that Gradle and CI servers use for these failures. Their time is measured from the previous result.
+ * <p>
+ * To activate this reporter, declare it in the
+ * <b>META-INF/services/org.junit.runner.notification.RunListener</b> provider configuration file.
+ */
+@RunListener.ThreadSafe
+public class StreamingReporter extends RunListener {
+
+    static final String CLASS_METHOD = "classMethod";
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(StreamingReporter.class);
+    private static final String XML_DECLARATION = "<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n";
+    private static final String TESTSUITE_FORMAT =
+                    "<testsuite name=\"JUnit Foundation\" tests=\"%d\" failures=\"%d\" errors=\"%d\" skipped=\"%d\""
+                    + " time=\"%s\"";
+    private static final int TESTSUITE_WIDTH = formatTestSuite(Integer.MAX_VALUE, Integer.MAX_VALUE,
+                    Integer.MAX_VALUE, Integer.MAX_VALUE, Long.MAX_VALUE).length();
+    private static final ThreadLocal<TestResult> IN_FLIGHT = new ThreadLocal<>();
+    private static final ThreadLocal<TestResult> PENDING_RETRY = new ThreadLocal<>();
+    private static final AtomicInteger TEST_COUNT = new AtomicInteger();
+    private static final AtomicInteger FAILURE_COUNT = new AtomicInteger();
+    private static final AtomicInteger ERROR_COUNT = new AtomicInteger();
+    private static final AtomicInteger SKIPPED_COUNT = new AtomicInteger();
+    private static final AtomicLong LAST_RESULT_NANOS = new AtomicLong(System.nanoTime());
+    private static long openNanos;
+    private static Path xmlFile;
+    private static BufferedWriter xmlWriter;
+    private static BufferedWriter jsonWriter;
+    private static boolean opened;
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void testStarted(Description description) {
+        TestResult result = new TestResult(description);
+        TestResult retried = PENDING_RETRY.get();
+        if (retried != null) {
+            PENDING_RETRY.remove();
+            if (retried.description.equals(description)) {
+                result.retries.addAll(retried.retries);
+            }
+        }
+        IN_FLIGHT.set(result);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void testFailure(Failure failure) {
+        TestResult result = getInFlight(failure.getDescription());
+        if (result != null) {
+            result.thrown = failure.getException();
+        } else {
+            // failure outside of a test (e.g. - in a class-level fixture)
+            result = new TestResult(failure.getDescription(), LAST_RESULT_NANOS.get());
+            result.thrown = failure.getException();
+            writeResult(result);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void testAssumptionFailure(Failure failure) {
+        TestResult result = getInFlight(failure.getDescription());
+        if (result != null) {
+            result.skipped = String.valueOf(failure.getMessage());
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void testIgnored(Description description) {
+        RetriedTest retriedTest = description.getAnnotation(RetriedTest.class);
+        TestResult result = getInFlight(description);
+        if (retriedTest != null && result != null) {
+            result.retries.add(retriedTest.getThrown());
+            result.retried = true;
+        } else if (result != null) {
+            result.skipped = "";
+        } else {
+            result = new TestResult(description);
+            Ignore ignore = description.getAnnotation(Ignore.class);
+            result.skipped = (ignore != null) ? ignore.value() : "";
+            writeResult(result);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void testFinished(Description description) {
+        TestResult result = getInFlight(description);
+        if (result != null) {
+            IN_FLIGHT.remove();
+            if (result.retried) {
+                PENDING_RETRY.set(result);
+            } else {
+                writeResult(result);
+            }
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void testRunFinished(Result result) {
+        flush();
+    }
+
+    /**
+     * Get the result of the specified test if it's in progress on the current thread.
+     * <p>
+     * <b>NOTE</b>: Test events are fired on the thread that runs the test, so results are tracked per thread. This
+     * keeps concurrent tests with equal descriptions (e.g. - repeated or parameterized tests) from colliding.
+     *
+     * @param description test description
+     * @return in-progress test result; {@code null} if the specified test isn't in progress on this thread
+     */
+    private static TestResult getInFlight(Description description) {
+        TestResult result = IN_FLIGHT.get();
+        return ((result != null) && result.description.equals(description)) ? result : null;
+    }
+
+    /**
+     * Flush buffered results to the report files.
+     */
+    public static synchronized void flush() {
+        try {
+            if (xmlWriter != null) {
+                xmlWriter.flush();
+            }
+            if (jsonWriter != null) {
+                jsonWriter.flush();
+            }
+        } catch (IOException e) {
+            LOGGER.warn("Unable to flush test report", e);
+        }
+    }
+
+    /**
+     * Get the path of the XML report file.
+     *
+     * @return XML report file path
+     */
+    static Path getReportFile() {
+        String fileName = JUnitConfig.getConfig().getString(JUnitSettings.REPORT_FILE.key());
+        return Paths.get(PathUtils.getBaseDir()).resolve(fileName);
+    }
+
+    /**
+     * Get the path of the NDJSON report file.
+     *
+     * @return NDJSON report file path; {@code null} if unspecified
+     */
+    static Path getJsonReportFile() {
+        JUnitConfig config = JUnitConfig.getConfig();
+        if (config.containsKey(JUnitSettings.REPORT_JSON_FILE.key())) {
+            String fileName = config.getString(JUnitSettings.REPORT_JSON_FILE.key());
+            return Paths.get(PathUtils.getBaseDir()).resolve(fileName);
+        }
+        return null;
+    }
+
+    /**
+     * Write the specified test result to the report files, opening the files on first use.
+     *
+     * @param result test result
+     */
+    private static void writeResult(TestResult result) {
+        long now = System.nanoTime();
+        result.nanos = now - result.startNanos;
+        LAST_RESULT_NANOS.set(now);
+        String kind = result.getKind();
+        TEST_COUNT.incrementAndGet();
+        if ("failure".equals(kind)) {
+            FAILURE_COUNT.incrementAndGet();
+        } else if ("error".equals(kind)) {
+            ERROR_COUNT.incrementAndGet();
+        } else if (result.skipped != null) {
+            SKIPPED_COUNT.incrementAndGet();
+        }
+
+        List<Path> artifacts = ArtifactCollector.getArtifactPaths(result.description);
+        String xml = toXml(result, kind, artifacts);
+        String json = toJson(result, kind, artifacts);
+
+        synchronized (StreamingReporter.class) {
+            if (!opened) {
+                opened = true;
+                openReports();
+            }
+            try {
+                if (xmlWriter != null) {
+                    xmlWriter.write(xml);
+                }
+            } catch (IOException e) {
+                LOGGER.warn("Unable to write XML test report; reporting disabled", e);
+                xmlWriter = null;
+            }
+            try {
+                if (jsonWriter != null) {
+                    jsonWriter.write(json);
+                }
+            } catch (IOException e) {
+                LOGGER.warn("Unable to write NDJSON test report; reporting disabled", e);
+                jsonWriter = null;
+            }
+        }
+    }
+
+    /**
+     * Create the report files and start the XML report.
+     */
+    private static void openReports() {
+        openNanos = System.nanoTime();
+        xmlFile = getReportFile();
+        try {
+            Files.createDirectories(xmlFile.toAbsolutePath().getParent());
+            xmlWriter = Files.newBufferedWriter(xmlFile, StandardCharsets.UTF_8);
+            xmlWriter.write(XML_DECLARATION);
+            xmlWriter.write(padTestSuite(formatTestSuite(0, 0, 0, 0, 0)));
+        } catch (IOException e) {
+            LOGGER.warn("Unable to create XML test report ({})", xmlFile, e);
+            xmlWriter = null;
+        }
+
+        Path jsonFile = getJsonReportFile();
+        if (jsonFile != null) {
+            try {
+                Files.createDirectories(jsonFile.toAbsolutePath().getParent());
+                jsonWriter = Files.newBufferedWriter(jsonFile, StandardCharsets.UTF_8);
+            } catch (IOException e) {
+                LOGGER.warn("Unable to create NDJSON test report ({})", jsonFile, e);
+                jsonWriter = null;
+            }
+        }
+
+        Runtime.getRuntime().addShutdownHook(LifecycleHooks.getShutdownHook(StreamingReporter::closeReports));
+    }
+
+    /**
+     * Complete the XML report and close the report files.
+     */
+    private static synchronized void closeReports() {
+        try {
+            if (xmlWriter != null) {
+                xmlWriter.write("</testsuite>\n");
+                xmlWriter.close();
+                String testsuite = formatTestSuite(TEST_COUNT.get(), FAILURE_COUNT.get(), ERROR_COUNT.get(),
+                                SKIPPED_COUNT.get(), System.nanoTime() - openNanos);
+                try (FileChannel channel = FileChannel.open(xmlFile, StandardOpenOption.WRITE)) {
+                    // the placeholder is ASCII, so its byte offset matches the length of the declaration
+                    ByteBuffer bytes = ByteBuffer.wrap(padTestSuite(testsuite).getBytes(StandardCharsets.UTF_8));
+                    channel.write(bytes, XML_DECLARATION.length());
+                }
+            }
+            if (jsonWriter != null) {
+                jsonWriter.close();
+            }
+        } catch (IOException e) {
+            LOGGER.warn("Unable to close test report", e);
+        }
+        xmlWriter = null;
+        jsonWriter = null;
+    }
+
+    /**
+     * Format the start tag of the root {@code <testsuite>} element, without its closing bracket.
+     *
+     * @param tests number of tests
+     * @param failures number of failed tests
+     * @param errors number of tests with errors
+     * @param skipped number of skipped tests
+     * @param nanos run time in nanoseconds
+     * @return unterminated start tag text
+     */
+    private static String formatTestSuite(int tests, int failures, int errors, int skipped, long nanos) {
+        return String.format(Locale.ROOT, TESTSUITE_FORMAT, tests, failures, errors, skipped, toSeconds(nanos));
+    }
+
+    /**
+     * Pad the specified start tag to the width of the placeholder and terminate it.
+     *
+     * @param testsuite unterminated start tag text
+     * @return terminated start tag line of fixed width
+     */
+    private static String padTestSuite(String testsuite) {
+        StringBuilder tag = new StringBuilder(TESTSUITE_WIDTH + 2).append(testsuite);
+        while (tag.length() < TESTSUITE_WIDTH) {
+            tag.append(' ');
+        }
+        return tag.append(">\n").toString();
+    }
+
+    /**
+     * Format the specified duration in seconds, with millisecond precision.
+     *
+     * @param nanos duration in nanoseconds
+     * @return formatted duration
+     */
+    private static String toSeconds(long nanos) {
+        return String.format(Locale.ROOT, "%.3f", nanos / 1e9);
+    }
+
+    /**
+     * Format the specified test result as a JUnit XML {@code <testcase>} element.
+     *
+     * @param result test result
+     * @param kind result kind: "failure", "error", or "success"
+     * @param artifacts paths of artifacts captured for the test
+     * @return XML element text
+     */
+    private static String toXml(TestResult result, String kind, List<Path> artifacts) {
+        StringBuilder xml = new StringBuilder(256);
+        xml.append("  <testcase classname=\"");
+        appendXml(xml, result.getClassName()).append("\" name=\"");
+        appendXml(xml, result.getName()).append("\" time=\"").append(result.getSeconds()).append('"');
+        if ((result.thrown == null) && (result.skipped == null) && result.retries.isEmpty() && artifacts.isEmpty()) {
+            return xml.append("/>\n").toString();
+        }
+        xml.append(">\n");
+
+        if (result.thrown != null) {
+            appendThrowable(xml, kind, result.thrown, false);
+        } else if (result.skipped != null) {
+            xml.append("    <skipped message=\"");
+            appendXml(xml, result.skipped).append("\"/>\n");
+        }
+        String retryElement = (result.thrown != null) ? "rerunFailure" : "flakyFailure";
+        for (Throwable retry : result.retries) {
+            appendThrowable(xml, retryElement, retry, true);
+        }
+        if (!artifacts.isEmpty()) {
+            xml.append("    <system-out>");
+            for (Path artifact : artifacts) {
+                xml.append("[[ATTACHMENT|");
+                appendXml(xml, artifact.toAbsolutePath().toString(), false).append("]]\n");
+            }
+            xml.append("</system-out>\n");
+        }
+        return xml.append("  </testcase>\n").toString();
+    }
+
+    /**
+     * Append an element describing the specified exception.
+     *
+     * @param xml XML builder
+     * @param element element name
+     * @param thrown exception
+     * @param nested {@code true} to write the stack trace in a nested {@code <stackTrace>} element
+     */
+    private static void appendThrowable(StringBuilder xml, String element, Throwable thrown, boolean nested) {
+        xml.append("    <").append(element).append(" message=\"");
+        appendXml(xml, String.valueOf(thrown.getMessage())).append("\" type=\"");
+        appendXml(xml, thrown.getClass().getName()).append("\">");
+        if (nested) {
+            xml.append("<stackTrace>");
+        }
+        appendXml(xml, getStackTrace(thrown), false);
+        if (nested) {
+            xml.append("</stackTrace>");
+        }
+        xml.append("</").append(element).append(">\n");
+    }
+
+    /**
+     * Format the specified test result as a line of JSON.
+     *
+     * @param result test result
+     * @param kind result kind: "failure", "error", or "success"
+     * @param artifacts paths of artifacts captured for the test
+     * @return JSON line
+     */
+    private static String toJson(TestResult result, String kind, List<Path> artifacts) {
+        StringBuilder json = new StringBuilder(256);
+        json.append("{\"class\":");
+        appendJson(json, result.getClassName()).append(",\"name\":");
+        appendJson(json, result.getName()).append(",\"status\":\"");
+        json.append(((result.thrown == null) && (result.skipped != null)) ? "skipped" : kind);
+        json.append("\",\"time\":").append(result.getSeconds());
+        if (result.thrown != null) {
+            json.append(",\"failure\":");
+            appendJsonThrowable(json, result.thrown);
+        }
+        if (result.skipped != null && result.thrown == null) {
+            json.append(",\"message\":");
+            appendJson(json, result.skipped);
+        }
+        if (!result.retries.isEmpty()) {
+            json.append(",\"retries\":[");
+            for (int i = 0; i < result.retries.size(); i++) {
+                json.append((i > 0) ? "," : "");
+                appendJsonThrowable(json, result.retries.get(i));
+            }
+            json.append(']');
+        }
+        if (!artifacts.isEmpty()) {
+            json.append(",\"artifacts\":[");
+            for (int i = 0; i < artifacts.size(); i++) {
+                json.append((i > 0) ? "," : "");
+                appendJson(json, artifacts.get(i).toAbsolutePath().toString());
+            }
+            json.append(']');
+        }
+        return json.append("}\n").toString();
+    }
+
+    /**
+     * Append a JSON object describing the specified exception.
+     *
+     * @param json JSON builder
+     * @param thrown exception
+     */
+    private static void appendJsonThrowable(StringBuilder json, Throwable thrown) {
+        json.append("{\"type\":");
+        appendJson(json, thrown.getClass().getName()).append(",\"message\":");
+        appendJson(json, String.valueOf(thrown.getMessage())).append('}');
+    }
+
+    /**
+     * Append the specified text to the specified builder, escaped for XML content and attribute values. Characters
+     * that XML 1.0 doesn't allow are replaced with '?'.
+     *
+     * @param builder string builder
+     * @param value text to append
+     * @return the specified builder
+     */
+    private static StringBuilder appendXml(StringBuilder builder, String value) {
+        return appendXml(builder, value, true);
+    }
+
+    /**
+     * Append the specified text to the specified builder, escaped for XML. Characters that XML 1.0 doesn't allow are
+     * replaced with '?'.
+     *
+     * @param builder string builder
+     * @param value text to append
+     * @param attribute {@code true} to also escape whitespace that attribute values would normalize
+     * @return the specified builder
+     */
+    private static StringBuilder appendXml(StringBuilder builder, String value, boolean attribute) {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '<':
+                    builder.append("&lt;");
+                    break;
+                case '>':
+                    builder.append("&gt;");
+                    break;
+                case '&':
+                    builder.append("&amp;");
+                    break;
+                case '"':
+                    builder.append("&quot;");
+                    break;
+                case '\n':
+                case '\r':
+                case '\t':
+                    if (attribute) {
+                        builder.append("&#").append((int) c).append(';');
+                    } else {
+                        builder.append(c);
+                    }
+                    break;
+                default:
+                    builder.append(((c < 0x20) || (c == 0xFFFE) || (c == 0xFFFF)) ? '?' : c);
+            }
+        }
+        return builder;
+    }
+
+    /**
+     * Append the specified string to the specified builder as a JSON string literal.
+     *
+     * @param builder string builder
+     * @param value string value
+     * @return the specified builder
+     */
+    private static StringBuilder appendJson(StringBuilder builder, String value) {
+        builder.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"' || c == '\\') {
+                builder.append('\\').append(c);
+            } else if (c < 0x20) {
+                builder.append(String.format("\\u%04x", (int) c));
+            } else {
+                builder.append(c);
+            }
+        }
+        return builder.append('"');
+    }
+
+    /**
+     * Get the stack trace of the specified exception.
+     *
+     * @param thrown exception
+     * @return stack trace text
+     */
+    private static String getStackTrace(Throwable thrown) {
+        StringWriter writer = new StringWriter();
+        thrown.printStackTrace(new PrintWriter(writer));
+        return writer.toString();
+    }
+
+    /**
+     * This class holds the result of a test that's in progress.
+     */
+    private static class TestResult {
+        private final Description description;
+        private final long startNanos;
+        private final List<Throwable> retries = new ArrayList<>();
+        private long nanos;
+        private Throwable thrown;
+        private String skipped;
+        private boolean retried;
+
+        TestResult(Description description) {
+            this(description, System.nanoTime());
+        }
+
+        TestResult(Description description, long startNanos) {
+            this.description = description;
+            this.startNanos = startNanos;
+        }
+
+        String getClassName() {
+            String className = description.getClassName();
+            return (className != null) ? className : description.getDisplayName();
+        }
+
+        String getName() {
+            String methodName = description.getMethodName();
+            return (methodName != null) ? methodName : CLASS_METHOD;
+        }
+
+        String getSeconds() {
+            return toSeconds(nanos);
+        }
+
+        /**
+         * Get the kind of this result.
+         *
+         * @return "failure" for assertion failures; "error" for other exceptions; otherwise "success"
+         */
+        String getKind() {
+            if (thrown == null) {
+                return "success";
+            }
+            return (thrown instanceof AssertionError) ? "failure" : "error";
+        }
+    }
+}
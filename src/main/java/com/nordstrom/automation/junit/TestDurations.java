@@ -0,0 +1,222 @@
+package com.nordstrom.automation.junit;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.internal.AssumptionViolatedException;
+import org.junit.runner.Description;
+import org.junit.runners.model.FrameworkMethod;
+import org.junit.runners.model.TestClass;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.nordstrom.automation.junit.JUnitConfig.JUnitSettings;
+import com.nordstrom.common.file.PathUtils;
+
+/**
+ * This run watcher records the duration of each atomic test and persists these durations to the timing file
+ * specified by the {@link JUnitSettings#TIMING_FILE TIMING_FILE} setting when the JVM shuts down. The historical
+ * durations read from this file drive the duration-aware ordering and sharding features of {@link ChildOrdering}.
+ * <p>
+ * Tests are identified by their {@link Description descriptions}, so each run of a parameterized test method is
+ * recorded separately.
+ * <p>
+ * To record test durations, declare this class in the <b>META-INF/services/com.nordstrom.automation.junit.RunWatcher</b>
+ * provider configuration file.
+ */
+public class TestDurations implements RunWatcher {
+    
+    private static final Logger LOGGER = LoggerFactory.getLogger(TestDurations.class);
+    private static final Map<Description, Long> START_TIMES = new ConcurrentHashMap<>();
+    private static final Map<String, Long> DURATIONS = new ConcurrentHashMap<>();
+    private static Map<String, Long> history;
+    
+    static {
+        Runtime.getRuntime().addShutdownHook(LifecycleHooks.getShutdownHook(TestDurations::saveDurations));
+    }
+    
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void testStarted(FrameworkMethod method, TestClass testClass) {
+        START_TIMES.put(describe(testClass, method), System.nanoTime());
+    }
+    
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void testFinished(FrameworkMethod method, TestClass testClass) {
+        Description description = describe(testClass, method);
+        Long startTime = START_TIMES.remove(description);
+        if (startTime != null) {
+            long elapsed = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime);
+            DURATIONS.put(getTestName(description), elapsed);
+        }
+    }
+    
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void testFailure(FrameworkMethod method, TestClass testClass, Throwable thrown) {
+        // nothing to do here
+    }
+    
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void testAssumptionFailure(FrameworkMethod method, TestClass testClass,
+                    AssumptionViolatedException thrown) {
+        // nothing to do here
+    }
+    
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void testIgnored(FrameworkMethod method, TestClass testClass) {
+        // nothing to do here
+    }
+    
+    /**
+     * Get the name by which the specified test is identified in the timing file.
+     * 
+     * @param description {@link Description} object for the test
+     * @return test name (<i>class-name</i>#<i>method-name</i>); for parameterized tests, the method name includes
+     *         the parameter index (e.g. - <b>testMethod[0]</b>)
+     */
+    public static String getTestName(Description description) {
+        return description.getClassName() + "#" + description.getMethodName();
+    }
+    
+    /**
+     * Get the name by which the specified test is identified in the timing file.
+     * 
+     * @param testClass {@link TestClass} object for the test
+     * @param method {@link FrameworkMethod} object for the test
+     * @return test name (see {@link #getTestName(Description)})
+     */
+    public static String getTestName(TestClass testClass, FrameworkMethod method) {
+        return getTestName(describe(testClass, method));
+    }
+    
+    /**
+     * Get the description of the specified test method from the runner of its active atomic test.
+     * 
+     * @param testClass {@link TestClass} object for the test
+     * @param method {@link FrameworkMethod} object for the test
+     * @return {@link Description} object for the test; if no atomic test is active for the specified method, a
+     *         description composed from the names of the test class and method
+     */
+    static Description describe(TestClass testClass, FrameworkMethod method) {
+        try {
+            AtomicTest atomicTest = RunReflectiveCall.getAtomicTestFor(method);
+            return LifecycleHooks.describeChildOf(atomicTest.getRunner(), method);
+        } catch (IllegalArgumentException e) {
+            return Description.createTestDescription(testClass.getName(), method.getName());
+        }
+    }
+    
+    /**
+     * Get the historical duration of the specified test.
+     * 
+     * @param testName test name (see {@link #getTestName(Description)})
+     * @return duration in milliseconds; {@code -1} if no duration has been recorded for the specified test
+     */
+    public static long getHistoricalDuration(String testName) {
+        Long duration = getHistory().get(testName);
+        return (duration != null) ? duration.longValue() : -1;
+    }
+    
+    /**
+     * Get the historical durations read from the timing file.
+     * 
+     * @return unmodifiable map of test names to durations in milliseconds
+     */
+    static synchronized Map<String, Long> getHistory() {
+        if (history == null) {
+            history = Collections.unmodifiableMap(loadDurations(getTimingFile()));
+        }
+        return history;
+    }
+    
+    /**
+     * Get the path of the timing file.
+     * 
+     * @return timing file path
+     */
+    static Path getTimingFile() {
+        String fileName = JUnitConfig.getConfig().getString(JUnitSettings.TIMING_FILE.key());
+        return Paths.get(PathUtils.getBaseDir()).resolve(fileName);
+    }
+    
+    /**
+     * Load test durations from the specified timing file.
+     * 
+     * @param timingFile timing file path
+     * @return map of test names to durations in milliseconds; empty if the file is absent or unreadable
+     */
+    private static Map<String, Long> loadDurations(Path timingFile) {
+        Map<String, Long> durations = new HashMap<>();
+        if (timingFile.toFile().exists()) {
+            Properties properties = new Properties();
+            try (InputStream inputStream = Files.newInputStream(timingFile)) {
+                properties.load(inputStream);
+            } catch (IOException e) {
+                LOGGER.warn("Unable to read timing file ({})", timingFile, e);
+            }
+            for (String testName : properties.stringPropertyNames()) {
+                try {
+                    durations.put(testName, Long.valueOf(properties.getProperty(testName)));
+                } catch (NumberFormatException e) {
+                    LOGGER.warn("Invalid duration for test ({}) in timing file", testName);
+                }
+            }
+        }
+        return durations;
+    }
+    
+    /**
+     * Merge the durations recorded in this run into the timing file.
+     */
+    private static void saveDurations() {
+        if (DURATIONS.isEmpty()) {
+            return;
+        }
+        
+        Path timingFile = getTimingFile();
+        Map<String, Long> durations = loadDurations(timingFile);
+        durations.putAll(DURATIONS);
+        
+        Properties properties = new Properties();
+        for (Map.Entry<String, Long> entry : durations.entrySet()) {
+            properties.setProperty(entry.getKey(), entry.getValue().toString());
+        }
+        
+        try {
+            Path parent = timingFile.toAbsolutePath().getParent();
+            Files.createDirectories(parent);
+            Path tempFile = Files.createTempFile(parent, "junit-timings", ".tmp");
+            try (OutputStream outputStream = Files.newOutputStream(tempFile)) {
+                properties.store(outputStream, "JUnit Foundation test durations (milliseconds)");
+            }
+            Files.move(tempFile, timingFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            LOGGER.warn("Unable to write timing file ({})", timingFile, e);
+        }
+    }
+}
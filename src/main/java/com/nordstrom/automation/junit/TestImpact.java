@@ -0,0 +1,482 @@
+package com.nordstrom.automation.junit;
+
+import static net.bytebuddy.matcher.ElementMatchers.*;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.instrument.ClassFileTransformer;
+import java.lang.instrument.IllegalClassFormatException;
+import java.lang.instrument.Instrumentation;
+import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.CodeSource;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.ProtectionDomain;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.junit.runner.manipulation.Filter;
+import org.junit.runners.model.FrameworkMethod;
+import org.junit.runners.model.TestClass;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.nordstrom.automation.junit.JUnitConfig.JUnitSettings;
+import com.nordstrom.common.file.PathUtils;
+
+import net.bytebuddy.agent.builder.AgentBuilder;
+import net.bytebuddy.asm.Advice;
+import net.bytebuddy.description.type.TypeDescription;
+import net.bytebuddy.utility.JavaModule;
+
+/**
+ * This class implements the <b>JUnit Foundation</b> test impact feature, which consists of two parts:
+ * <ul>
+ *     <li><b>recording</b>: If {@link JUnitSettings#IMPACT_RECORD IMPACT_RECORD} is set, the Java agent instruments
+ *     every application class (i.e. - classes loaded from directories rather than archives) to record which of these
+ *     classes each test class touches. The bytecode hash of each touched class is recorded as well. When the JVM shuts
+ *     down, these dependencies are merged into the file specified by {@link JUnitSettings#IMPACT_FILE IMPACT_FILE}.
+ *     </li>
+ *     <li><b>selection</b>: If {@link JUnitSettings#IMPACT_SELECT IMPACT_SELECT} is set, {@link ChildOrdering} only
+ *     runs test classes that are affected by changes - test classes with no recorded dependencies, and those for
+ *     which the bytecode hash of any recorded dependency has changed. Selection is applied as a {@link Filter}, so
+ *     unaffected test classes are neither described nor run, including their class-level configuration methods.
+ *     </li>
+ * </ul>
+ * <b>NOTE</b>: Recording instruments every method of every application class, which slows down the run. Recording
+ * is intended to be performed periodically (e.g. - in nightly builds) to refresh the dependency file.
+ */
+public class TestImpact {
+    
+    private static final Logger LOGGER = LoggerFactory.getLogger(TestImpact.class);
+    private static final String DEPS_PREFIX = "deps.";
+    private static final String HASH_PREFIX = "hash.";
+    
+    private static final ThreadLocal<Set<String>> CURRENT = new ThreadLocal<>();
+    private static final Map<String, Set<String>> DEPENDENCIES = new ConcurrentHashMap<>();
+    private static final Map<String, String> HASHES = new ConcurrentHashMap<>();
+    private static final Map<String, String> CURRENT_HASHES = new ConcurrentHashMap<>();
+    private static final Map<String, Boolean> AFFECTED = new ConcurrentHashMap<>();
+    private static volatile boolean recording;
+    private static Map<String, Set<String>> historyDeps;
+    private static Map<String, String> historyHashes;
+    
+    private TestImpact() {
+        throw new AssertionError("TestImpact is a static utility class that cannot be instantiated");
+    }
+    
+    /**
+     * Determine if dependency recording is enabled.
+     * 
+     * @return {@code true} if dependency recording is enabled; otherwise {@code false}
+     */
+    static boolean isRecordEnabled() {
+        return JUnitConfig.getConfig().getBoolean(JUnitSettings.IMPACT_RECORD.key(), false);
+    }
+    
+    /**
+     * Determine if impact-based test selection is enabled.
+     * 
+     * @return {@code true} if impact-based test selection is enabled; otherwise {@code false}
+     */
+    static boolean isSelectEnabled() {
+        return JUnitConfig.getConfig().getBoolean(JUnitSettings.IMPACT_SELECT.key(), false);
+    }
+    
+    /**
+     * Install a class file transformer that defers the decision to record dependencies until the first application
+     * class is loaded. At that point, the {@link JUnitSettings#IMPACT_RECORD IMPACT_RECORD} setting is read. If
+     * recording is enabled, the recording transformation is installed (see {@link #installTransformer}); either way,
+     * the deferred transformer then removes itself.
+     * <p>
+     * <b>NOTE</b>: This keeps the configuration from being loaded during agent start-up.
+     * 
+     * @param instrumentation {@link Instrumentation} object used to transform application classes
+     */
+    static void installDeferredTransformer(final Instrumentation instrumentation) {
+        final URL foundation = getLocation(TestImpact.class.getProtectionDomain());
+        
+        instrumentation.addTransformer(new ClassFileTransformer() {
+            private boolean resolved;
+            
+            @Override
+            public synchronized byte[] transform(ClassLoader loader, String className, Class<?> classBeingRedefined,
+                            ProtectionDomain protectionDomain, byte[] classfileBuffer)
+                            throws IllegalClassFormatException {
+                if (resolved || !isApplicationClass(protectionDomain, foundation)) {
+                    return null;
+                }
+                resolved = true;
+                instrumentation.removeTransformer(this);
+                if (isRecordEnabled()) {
+                    // the recording transformer only sees classes loaded after it was installed
+                    return installTransformer(instrumentation).transform(loader, className, classBeingRedefined,
+                                    protectionDomain, classfileBuffer);
+                }
+                return null;
+            }
+        });
+    }
+    
+    /**
+     * Install the {@code Byte Buddy} byte code transformation that records the application classes touched by each
+     * test class.
+     * 
+     * @param instrumentation {@link Instrumentation} object used to transform application classes
+     * @return The installed class file transformer
+     */
+    public static synchronized ClassFileTransformer installTransformer(Instrumentation instrumentation) {
+        final URL foundation = getLocation(TestImpact.class.getProtectionDomain());
+        
+        ClassFileTransformer transformer = new AgentBuilder.Default()
+                .type(new AgentBuilder.RawMatcher() {
+                    @Override
+                    public boolean matches(TypeDescription typeDescription, ClassLoader classLoader,
+                                    JavaModule module, Class<?> classBeingRedefined,
+                                    ProtectionDomain protectionDomain) {
+                        return isApplicationClass(protectionDomain, foundation);
+                    }
+                })
+                .transform((builder, type, classLoader, module) -> {
+                    String hash = getClassHash(classLoader, type.getName());
+                    if (hash != null) {
+                        HASHES.put(type.getName(), hash);
+                    }
+                    return builder.visit(Advice.to(TouchAdvice.class)
+                                    .on(isMethod().and(not(isAbstract())).and(not(isNative())).or(isConstructor())));
+                })
+                .installOn(instrumentation);
+        
+        if (!recording) {
+            recording = true;
+            Runtime.getRuntime().addShutdownHook(LifecycleHooks.getShutdownHook(TestImpact::saveDependencies));
+        }
+        return transformer;
+    }
+    
+    /**
+     * This advice records that the class that declares the instrumented method was touched.
+     */
+    public static class TouchAdvice {
+        
+        private TouchAdvice() {
+            throw new AssertionError("TouchAdvice is a static advice class that cannot be instantiated");
+        }
+        
+        /**
+         * Record that the declaring class of the instrumented method was touched.
+         * 
+         * @param type name of the declaring class
+         */
+        @Advice.OnMethodEnter
+        static void onEnter(@Advice.Origin("#t") String type) {
+            TestImpact.touch(type);
+        }
+    }
+    
+    /**
+     * Record that the specified application class was touched by the test class that's active on this thread.
+     * 
+     * @param className name of the touched class
+     */
+    public static void touch(String className) {
+        Set<String> dependencies = CURRENT.get();
+        if (dependencies != null) {
+            dependencies.add(className);
+        }
+    }
+    
+    /**
+     * Activate recording for the specified test class on the current thread.
+     * 
+     * @param testClass {@link TestClass} object
+     * @return dependency set that was active before this call (pass to {@link #exitTestClass(Set)})
+     */
+    static Set<String> enterTestClass(TestClass testClass) {
+        if ( ! recording || (testClass.getJavaClass() == null)) {
+            return null;
+        }
+        Set<String> previous = CURRENT.get();
+        CURRENT.set(getDependencies(testClass.getName()));
+        return previous;
+    }
+    
+    /**
+     * Restore the dependency set that was active before the matching {@link #enterTestClass(TestClass)} call.
+     * 
+     * @param previous dependency set returned by {@link #enterTestClass(TestClass)}
+     */
+    static void exitTestClass(Set<String> previous) {
+        if (recording) {
+            if (previous != null) {
+                CURRENT.set(previous);
+            } else {
+                CURRENT.remove();
+            }
+        }
+    }
+    
+    /**
+     * Activate recording on the current thread for the test class of the specified method invocation, unless
+     * recording is already active on this thread.
+     * <p>
+     * <b>NOTE</b>: Test methods with timeouts run on a separate thread, which has no active recording of its own.
+     * 
+     * @param target "enhanced" object upon which the method is invoked ({@code null} for static methods)
+     * @param method {@link FrameworkMethod} object for the invoked method
+     * @return {@code true} if recording was activated by this call (pass to {@link #exitInvocation(boolean)})
+     */
+    static boolean enterInvocation(Object target, FrameworkMethod method) {
+        if ( ! recording || (CURRENT.get() != null)) {
+            return false;
+        }
+        Class<?> testClass = (target != null) ? LifecycleHooks.getInstanceClass(target) : method.getDeclaringClass();
+        CURRENT.set(getDependencies(testClass.getName()));
+        return true;
+    }
+    
+    /**
+     * Deactivate recording on the current thread if it was activated by the matching
+     * {@link #enterInvocation(Object, FrameworkMethod)} call.
+     * 
+     * @param entered value returned by {@link #enterInvocation(Object, FrameworkMethod)}
+     */
+    static void exitInvocation(boolean entered) {
+        if (entered) {
+            CURRENT.remove();
+        }
+    }
+    
+    /**
+     * Get the application classes touched by the specified test class in the current run.
+     * 
+     * @param testClassName test class name
+     * @return set of touched class names
+     */
+    public static Set<String> getDependencies(String testClassName) {
+        return DEPENDENCIES.computeIfAbsent(testClassName, name -> ConcurrentHashMap.newKeySet());
+    }
+    
+    /**
+     * Determine if the specified test class is affected by changes to the application classes it depends on.
+     * 
+     * @param testClass test class (may be {@code null})
+     * @return {@code true} if the specified test class must be run; otherwise {@code false}
+     */
+    static boolean isAffected(final Class<?> testClass) {
+        if (testClass == null) {
+            return true;
+        }
+        return AFFECTED.computeIfAbsent(testClass.getName(), name -> {
+            Set<String> dependencies = getHistoryDeps().get(name);
+            if (dependencies == null) {
+                return Boolean.TRUE;
+            }
+            ClassLoader classLoader = testClass.getClassLoader();
+            for (String dependency : dependencies) {
+                String recorded = getHistoryHashes().get(dependency);
+                String current = CURRENT_HASHES.computeIfAbsent(dependency,
+                                className -> String.valueOf(getClassHash(classLoader, className)));
+                if ( ! current.equals(recorded)) {
+                    return Boolean.TRUE;
+                }
+            }
+            return Boolean.FALSE;
+        });
+    }
+    
+    /**
+     * Get the test class dependencies read from the dependency file.
+     * 
+     * @return map of test class names to the names of the classes they touch
+     */
+    private static synchronized Map<String, Set<String>> getHistoryDeps() {
+        if (historyDeps == null) {
+            loadHistory();
+        }
+        return historyDeps;
+    }
+    
+    /**
+     * Get the bytecode hashes read from the dependency file.
+     * 
+     * @return map of class names to bytecode hashes
+     */
+    private static synchronized Map<String, String> getHistoryHashes() {
+        if (historyHashes == null) {
+            loadHistory();
+        }
+        return historyHashes;
+    }
+    
+    /**
+     * Load test class dependencies and bytecode hashes from the dependency file.
+     */
+    private static void loadHistory() {
+        historyDeps = new HashMap<>();
+        historyHashes = new HashMap<>();
+        Map<String, String> properties = loadProperties(getImpactFile());
+        for (Map.Entry<String, String> entry : properties.entrySet()) {
+            if (entry.getKey().startsWith(DEPS_PREFIX)) {
+                Set<String> dependencies = new HashSet<>(Arrays.asList(entry.getValue().split(",")));
+                historyDeps.put(entry.getKey().substring(DEPS_PREFIX.length()), dependencies);
+            } else if (entry.getKey().startsWith(HASH_PREFIX)) {
+                historyHashes.put(entry.getKey().substring(HASH_PREFIX.length()), entry.getValue());
+            }
+        }
+    }
+    
+    /**
+     * Get the path of the dependency file.
+     * 
+     * @return dependency file path
+     */
+    static Path getImpactFile() {
+        String fileName = JUnitConfig.getConfig().getString(JUnitSettings.IMPACT_FILE.key());
+        return Paths.get(PathUtils.getBaseDir()).resolve(fileName);
+    }
+    
+    /**
+     * Load the entries of the specified properties file.
+     * 
+     * @param impactFile dependency file path
+     * @return map of property keys to values; empty if the file is absent or unreadable
+     */
+    private static Map<String, String> loadProperties(Path impactFile) {
+        Map<String, String> entries = new HashMap<>();
+        if (impactFile.toFile().exists()) {
+            Properties properties = new Properties();
+            try (InputStream inputStream = Files.newInputStream(impactFile)) {
+                properties.load(inputStream);
+            } catch (IOException e) {
+                LOGGER.warn("Unable to read dependency file ({})", impactFile, e);
+            }
+            for (String key : properties.stringPropertyNames()) {
+                entries.put(key, properties.getProperty(key));
+            }
+        }
+        return entries;
+    }
+    
+    /**
+     * Merge the dependencies recorded in this run into the dependency file.
+     */
+    private static void saveDependencies() {
+        Path impactFile = getImpactFile();
+        Properties properties = new Properties();
+        properties.putAll(loadProperties(impactFile));
+        
+        boolean recorded = false;
+        for (Map.Entry<String, Set<String>> entry : DEPENDENCIES.entrySet()) {
+            if ( ! entry.getValue().isEmpty()) {
+                Set<String> dependencies = new TreeSet<>(entry.getValue());
+                properties.setProperty(DEPS_PREFIX + entry.getKey(), String.join(",", dependencies));
+                for (String dependency : dependencies) {
+                    String hash = HASHES.get(dependency);
+                    if (hash != null) {
+                        properties.setProperty(HASH_PREFIX + dependency, hash);
+                    }
+                }
+                recorded = true;
+            }
+        }
+        
+        if ( ! recorded) {
+            return;
+        }
+        
+        try {
+            Path parent = impactFile.toAbsolutePath().getParent();
+            Files.createDirectories(parent);
+            Path tempFile = Files.createTempFile(parent, "junit-impact", ".tmp");
+            try (OutputStream outputStream = Files.newOutputStream(tempFile)) {
+                properties.store(outputStream, "JUnit Foundation test class dependencies");
+            }
+            Files.move(tempFile, impactFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            LOGGER.warn("Unable to write dependency file ({})", impactFile, e);
+        }
+    }
+    
+    /**
+     * Compute the hash of the bytecode of the specified class.
+     * 
+     * @param classLoader class loader from which to read the class file
+     * @param className name of the class
+     * @return SHA-1 hash of the class file as a hexadecimal string; {@code null} if the class file is unavailable
+     */
+    static String getClassHash(ClassLoader classLoader, String className) {
+        String resource = className.replace('.', '/') + ".class";
+        try (InputStream inputStream = (classLoader != null)
+                        ? classLoader.getResourceAsStream(resource) : ClassLoader.getSystemResourceAsStream(resource)) {
+            if (inputStream == null) {
+                return null;
+            }
+            ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+            byte[] chunk = new byte[8192];
+            int count;
+            while ((count = inputStream.read(chunk)) != -1) {
+                buffer.write(chunk, 0, count);
+            }
+            StringBuilder hash = new StringBuilder();
+            for (byte b : MessageDigest.getInstance("SHA-1").digest(buffer.toByteArray())) {
+                hash.append(String.format("%02x", b));
+            }
+            return hash.toString();
+        } catch (IOException | NoSuchAlgorithmException e) {
+            LOGGER.warn("Unable to compute bytecode hash of class ({})", className, e);
+            return null;
+        }
+    }
+    
+    /**
+     * Get the code source location of the specified protection domain.
+     * 
+     * @param protectionDomain protection domain (may be {@code null})
+     * @return code source location; {@code null} if unavailable
+     */
+    private static URL getLocation(ProtectionDomain protectionDomain) {
+        if (protectionDomain != null) {
+            CodeSource codeSource = protectionDomain.getCodeSource();
+            if (codeSource != null) {
+                return codeSource.getLocation();
+            }
+        }
+        return null;
+    }
+    
+    /**
+     * Determine if the class with the specified protection domain is an application class - a class loaded from a
+     * directory other than the one that holds the <b>JUnit Foundation</b> classes.
+     * 
+     * @param protectionDomain protection domain (may be {@code null})
+     * @param foundation code source location of the <b>JUnit Foundation</b> classes
+     * @return {@code true} if the class is an application class; otherwise {@code false}
+     */
+    private static boolean isApplicationClass(ProtectionDomain protectionDomain, URL foundation) {
+        URL location = getLocation(protectionDomain);
+        return (location != null) && !location.equals(foundation) && isDirectory(location);
+    }
+    
+    /**
+     * Determine if the specified code source location is a directory.
+     * 
+     * @param location code source location
+     * @return {@code true} if the specified location is a directory; otherwise {@code false}
+     */
+    private static boolean isDirectory(URL location) {
+        return "file".equals(location.getProtocol()) && location.getPath().endsWith("/");
+    }
+}
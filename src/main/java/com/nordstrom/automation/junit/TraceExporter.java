@@ -0,0 +1,338 @@
+package com.nordstrom.automation.junit;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.junit.Test;
+import org.junit.internal.AssumptionViolatedException;
+import org.junit.runners.model.FrameworkMethod;
+import org.junit.runners.model.TestClass;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.nordstrom.automation.junit.JUnitConfig.JUnitSettings;
+import com.nordstrom.common.file.PathUtils;
+
+/**
+ * This watcher writes a timeline of the test run in the
+ * <a href="https://docs.google.com/document/d/1CvAClvFfyA5R-PhYUmn5OOQtYMH4h6I0nSsKchNAySU">Chrome trace-event</a>
+ * JSON format to the file specified by the {@link JUnitSettings#TRACE_FILE TRACE_FILE} setting. Runner runs, test
+ * classes, atomic tests, and test and fixture method invocations are written as nested duration events on the thread
+ * that produced them, which shows where parallel workers sit idle. Load the file in <b>chrome://tracing</b> or
+ * <a href="https://ui.perfetto.dev">Perfetto</a>.
+ * <p>
+ * Events are streamed to the file as they occur. The trace format allows the closing bracket to be omitted, so the
+ * file remains readable even if the JVM is killed before the trace is completed.
+ * <p>
+ * To export the trace, declare this class in the <b>META-INF/services</b> provider configuration files for
+ * {@link RunnerWatcher}, {@link TestClassWatcher}, {@link RunWatcher}, and {@link MethodWatcher}.
+ */
+public class TraceExporter implements RunnerWatcher, TestClassWatcher, RunWatcher, MethodWatcher {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(TraceExporter.class);
+    private static final long START_NANOS = System.nanoTime();
+    private static final String PID = getProcessId();
+    private static final Map<Long, Boolean> NAMED_THREADS = new ConcurrentHashMap<>();
+    private static BufferedWriter writer;
+    private static boolean opened;
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void runStarted(Object runner) {
+        writeEvent("B", getRunnerName(runner), "suite", "parent", getRunnerName(LifecycleHooks.getParentOf(runner)));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void runFinished(Object runner) {
+        writeEvent("E", getRunnerName(runner), "suite", null, null);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void testClassCreated(TestClass testClass, Object runner) {
+        // nothing to do here
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void testClassStarted(TestClass testClass) {
+        writeEvent("B", getClassName(testClass), "class", null, null);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void testClassFinished(TestClass testClass) {
+        writeEvent("E", getClassName(testClass), "class", null, null);
+        flush();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void testStarted(FrameworkMethod method, TestClass testClass) {
+        writeEvent("B", method.getName(), "test", "class", testClass.getName());
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void testFinished(FrameworkMethod method, TestClass testClass) {
+        writeEvent("E", method.getName(), "test", null, null);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void testFailure(FrameworkMethod method, TestClass testClass, Throwable thrown) {
+        writeEvent("i", method.getName(), "failure", "thrown", thrown.getClass().getName());
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void testAssumptionFailure(FrameworkMethod method, TestClass testClass,
+                    AssumptionViolatedException thrown) {
+        writeEvent("i", method.getName(), "assumption", "thrown", thrown.getClass().getName());
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void testIgnored(FrameworkMethod method, TestClass testClass) {
+        writeEvent("i", method.getName(), "ignored", "class", testClass.getName());
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void beforeInvocation(Object target, FrameworkMethod method, Object... params) {
+        writeEvent("B", method.getName(), getCategory(method), null, null);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void afterInvocation(Object target, FrameworkMethod method, Throwable thrown) {
+        writeEvent("E", method.getName(), getCategory(method), null, null);
+    }
+
+    /**
+     * Flush buffered trace events to the trace file.
+     */
+    public static synchronized void flush() {
+        if (writer != null) {
+            try {
+                writer.flush();
+            } catch (IOException e) {
+                LOGGER.warn("Unable to flush trace file", e);
+            }
+        }
+    }
+
+    /**
+     * Get the path of the trace file.
+     *
+     * @return trace file path
+     */
+    static Path getTraceFile() {
+        String fileName = JUnitConfig.getConfig().getString(JUnitSettings.TRACE_FILE.key());
+        return Paths.get(PathUtils.getBaseDir()).resolve(fileName);
+    }
+
+    /**
+     * Write a trace event for the current thread.
+     *
+     * @param phase event phase ("B" - begin, "E" - end, "i" - instant)
+     * @param name event name
+     * @param category event category
+     * @param argName name of event argument (may be {@code null})
+     * @param argValue value of event argument (may be {@code null})
+     */
+    private static void writeEvent(String phase, String name, String category, String argName, String argValue) {
+        long nanos = System.nanoTime() - START_NANOS;
+        Thread thread = Thread.currentThread();
+        long tid = thread.getId();
+
+        StringBuilder event = new StringBuilder(128);
+        if (NAMED_THREADS.putIfAbsent(tid, Boolean.TRUE) == null) {
+            event.append("{\"name\":\"thread_name\",\"ph\":\"M\",\"pid\":").append(PID).append(",\"tid\":")
+                            .append(tid).append(",\"args\":{\"name\":");
+            appendString(event, thread.getName()).append("}},\n");
+        }
+
+        event.append("{\"name\":");
+        appendString(event, name).append(",\"cat\":\"").append(category).append("\",\"ph\":\"").append(phase)
+                        .append("\",\"ts\":").append(nanos / 1000).append('.');
+        long fraction = nanos % 1000;
+        event.append(fraction < 100 ? (fraction < 10 ? "00" : "0") : "").append(fraction);
+        event.append(",\"pid\":").append(PID).append(",\"tid\":").append(tid);
+        if ("i".equals(phase)) {
+            event.append(",\"s\":\"t\"");
+        }
+        if (argName != null && argValue != null) {
+            event.append(",\"args\":{\"").append(argName).append("\":");
+            appendString(event, argValue).append('}');
+        }
+        event.append("},\n");
+
+        write(event);
+    }
+
+    /**
+     * Append the specified event text to the trace file, opening the file on first use.
+     *
+     * @param event event text
+     */
+    private static synchronized void write(CharSequence event) {
+        if (!opened) {
+            opened = true;
+            writer = openTrace();
+        }
+
+        if (writer != null) {
+            try {
+                writer.append(event);
+            } catch (IOException e) {
+                LOGGER.warn("Unable to write trace file; trace export disabled", e);
+                writer = null;
+            }
+        }
+    }
+
+    /**
+     * Create the trace file and start the event array.
+     *
+     * @return trace file writer; {@code null} if the trace file couldn't be created
+     */
+    private static BufferedWriter openTrace() {
+        Path traceFile = getTraceFile();
+        try {
+            Files.createDirectories(traceFile.toAbsolutePath().getParent());
+            BufferedWriter traceWriter = Files.newBufferedWriter(traceFile, StandardCharsets.UTF_8);
+            traceWriter.write("[\n");
+            Runtime.getRuntime().addShutdownHook(LifecycleHooks.getShutdownHook(TraceExporter::closeTrace));
+            return traceWriter;
+        } catch (IOException e) {
+            LOGGER.warn("Unable to create trace file ({})", traceFile, e);
+            return null;
+        }
+    }
+
+    /**
+     * Complete the event array and close the trace file.
+     */
+    private static synchronized void closeTrace() {
+        if (writer != null) {
+            try {
+                // the trailing object keeps the array valid after the last event's separator
+                writer.write("{\"name\":\"process_name\",\"ph\":\"M\",\"pid\":" + PID
+                                + ",\"args\":{\"name\":\"JUnit\"}}\n]\n");
+                writer.close();
+            } catch (IOException e) {
+                LOGGER.warn("Unable to close trace file", e);
+            }
+            writer = null;
+        }
+    }
+
+    /**
+     * Get the category of the specified method.
+     *
+     * @param method framework method
+     * @return "test-method" for {@link Test &#64;Test} methods; otherwise "fixture"
+     */
+    private static String getCategory(FrameworkMethod method) {
+        return (method.getAnnotation(Test.class) != null) ? "test-method" : "fixture";
+    }
+
+    /**
+     * Get the name of the specified test class.
+     *
+     * @param testClass {@link TestClass} object
+     * @return name of the test class; runner class name for runners with no test class (e.g. - suites)
+     */
+    private static String getClassName(TestClass testClass) {
+        if (testClass.getJavaClass() != null) {
+            return testClass.getName();
+        }
+        return getRunnerName(LifecycleHooks.getRunnerFor(testClass));
+    }
+
+    /**
+     * Get the name of the specified runner.
+     *
+     * @param runner {@code ParentRunner} object (may be {@code null})
+     * @return name of the runner's test class; runner class name if the runner has no test class
+     */
+    private static String getRunnerName(Object runner) {
+        if (runner == null) {
+            return null;
+        }
+        TestClass testClass = LifecycleHooks.getTestClassOf(runner);
+        if (testClass != null && testClass.getJavaClass() != null) {
+            return testClass.getName();
+        }
+        return runner.getClass().getName();
+    }
+
+    /**
+     * Append the specified string to the specified builder as a JSON string literal.
+     *
+     * @param builder string builder
+     * @param value string value
+     * @return the specified builder
+     */
+    private static StringBuilder appendString(StringBuilder builder, String value) {
+        builder.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"' || c == '\\') {
+                builder.append('\\').append(c);
+            } else if (c < 0x20) {
+                builder.append(String.format("\\u%04x", (int) c));
+            } else {
+                builder.append(c);
+            }
+        }
+        return builder.append('"');
+    }
+
+    /**
+     * Get the ID of the current process.
+     *
+     * @return process ID; "0" if the ID couldn't be determined
+     */
+    private static String getProcessId() {
+        String name = ManagementFactory.getRuntimeMXBean().getName();
+        int index = name.indexOf('@');
+        if (index > 0 && name.substring(0, index).matches("\\d+")) {
+            return name.substring(0, index);
+        }
+        return "0";
+    }
+}
@@ -0,0 +1,350 @@
+package com.nordstrom.automation.junit;
+
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.management.JMException;
+import javax.management.ObjectName;
+import javax.management.StandardMBean;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import net.bytebuddy.agent.builder.AgentBuilder;
+import net.bytebuddy.description.type.TypeDescription;
+import net.bytebuddy.dynamic.DynamicType;
+import net.bytebuddy.matcher.ElementMatcher;
+import net.bytebuddy.utility.JavaModule;
+
+/**
+ * This class records the overhead added by the <b>JUnit Foundation</b> Java agent: the time spent installing the
+ * class file transformer, the counts of types matched, transformed, ignored, and errored, the time spent transforming
+ * matched types, and the time spent processing classes as they are loaded. Processing time is measured from the
+ * discovery of each type until its processing completes; types loaded while another type is being processed are
+ * attributed to the outer type.
+ * <p>
+ * Failures to transform are counted, and logged at {@code DEBUG} level as one line per type. These metrics are exposed
+ * through the {@value #OBJECT_NAME} MBean. To log a summary when the JVM shuts down, declare {@link TransformSummary}
+ * as a {@link ShutdownListener} service provider.
+ */
+public final class TransformMetrics {
+
+    /** object name of the transformation metrics MBean */
+    public static final String OBJECT_NAME = "com.nordstrom.automation.junit:type=TransformMetrics";
+
+    private static final int MAX_DEPTH = 16;
+    private static final Logger LOGGER = LoggerFactory.getLogger(TransformMetrics.class);
+    private static final AtomicLong INSTALL_NANOS = new AtomicLong();
+    private static final AtomicLong PROCESSING_NANOS = new AtomicLong();
+    private static final AtomicLong TRANSFORM_NANOS = new AtomicLong();
+    private static final AtomicInteger MATCHED_COUNT = new AtomicInteger();
+    private static final AtomicInteger TRANSFORMED_COUNT = new AtomicInteger();
+    private static final AtomicInteger IGNORED_COUNT = new AtomicInteger();
+    private static final AtomicInteger ERROR_COUNT = new AtomicInteger();
+    private static final AtomicBoolean REGISTERED = new AtomicBoolean();
+    private static final ThreadLocal<long[]> PROCESSING = ThreadLocal.withInitial(() -> new long[MAX_DEPTH + 1]);
+    private static final AgentBuilder.Listener LISTENER = new MetricsListener();
+
+    private TransformMetrics() {
+        throw new AssertionError("TransformMetrics is a static utility class that cannot be instantiated");
+    }
+
+    /**
+     * Get the listener that records transformation metrics for the agent.
+     *
+     * @return {@link AgentBuilder.Listener} object
+     */
+    static AgentBuilder.Listener getListener() {
+        return LISTENER;
+    }
+
+    /**
+     * Wrap the specified type matcher to count the types it matches.
+     *
+     * @param <T> matched type
+     * @param matcher type matcher
+     * @return counting type matcher
+     */
+    static <T extends TypeDescription> ElementMatcher.Junction<T> counting(final ElementMatcher<? super T> matcher) {
+        return new ElementMatcher.Junction.AbstractBase<T>() {
+            @Override
+            public boolean matches(T target) {
+                if (matcher.matches(target)) {
+                    MATCHED_COUNT.incrementAndGet();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * Record the time spent installing the class file transformer.
+     *
+     * @param nanos install time in nanoseconds
+     */
+    static void setInstallTime(long nanos) {
+        INSTALL_NANOS.set(nanos);
+    }
+
+    /**
+     * Register the transformation metrics MBean with the platform MBean server. This is deferred until tests start
+     * running to avoid initializing JMX from the agent's {@code premain} method.
+     */
+    static void registerMBean() {
+        if (REGISTERED.compareAndSet(false, true)) {
+            try {
+                ManagementFactory.getPlatformMBeanServer().registerMBean(
+                                new StandardMBean(new View(), TransformMetricsMBean.class),
+                                new ObjectName(OBJECT_NAME));
+            } catch (JMException e) {
+                LOGGER.warn("Unable to register transformation metrics MBean", e);
+            }
+        }
+    }
+
+    /**
+     * Get the time spent installing the class file transformer.
+     *
+     * @return install time in nanoseconds; 0 if the agent hasn't been installed
+     */
+    public static long getInstallTime() {
+        return INSTALL_NANOS.get();
+    }
+
+    /**
+     * Get the time the agent has spent processing classes as they were loaded.
+     *
+     * @return processing time in nanoseconds
+     */
+    public static long getProcessingTime() {
+        return PROCESSING_NANOS.get();
+    }
+
+    /**
+     * Get the time the agent has spent transforming the types it matched.
+     *
+     * @return transformation time in nanoseconds
+     */
+    public static long getTransformTime() {
+        return TRANSFORM_NANOS.get();
+    }
+
+    /**
+     * Get the number of types matched by the agent.
+     *
+     * @return count of matched types
+     */
+    public static int getMatchedCount() {
+        return MATCHED_COUNT.get();
+    }
+
+    /**
+     * Get the number of types transformed by the agent.
+     *
+     * @return count of transformed types
+     */
+    public static int getTransformedCount() {
+        return TRANSFORMED_COUNT.get();
+    }
+
+    /**
+     * Get the number of types ignored by the agent.
+     *
+     * @return count of ignored types
+     */
+    public static int getIgnoredCount() {
+        return IGNORED_COUNT.get();
+    }
+
+    /**
+     * Get the number of types the agent failed to transform.
+     *
+     * @return count of errored types
+     */
+    public static int getErrorCount() {
+        return ERROR_COUNT.get();
+    }
+
+    /**
+     * Log a summary of agent overhead.
+     */
+    static void logSummary() {
+        if (INSTALL_NANOS.get() > 0) {
+            LOGGER.info("JUnit Foundation agent: installed in {} ms; {} types matched, {} transformed, {} ignored, "
+                            + "{} errored; {} ms transforming, {} ms spent in class loading",
+                    TimeUnit.NANOSECONDS.toMillis(INSTALL_NANOS.get()), MATCHED_COUNT.get(), TRANSFORMED_COUNT.get(),
+                    IGNORED_COUNT.get(), ERROR_COUNT.get(), TimeUnit.NANOSECONDS.toMillis(TRANSFORM_NANOS.get()),
+                    TimeUnit.NANOSECONDS.toMillis(PROCESSING_NANOS.get()));
+        }
+    }
+
+    /**
+     * This interface defines the management view of the transformation metrics.
+     */
+    public interface TransformMetricsMBean {
+
+        /**
+         * Get the time spent installing the class file transformer.
+         *
+         * @return install time in nanoseconds
+         */
+        long getInstallTime();
+
+        /**
+         * Get the time the agent has spent processing classes as they were loaded.
+         *
+         * @return processing time in nanoseconds
+         */
+        long getProcessingTime();
+
+        /**
+         * Get the time the agent has spent transforming the types it matched.
+         *
+         * @return transformation time in nanoseconds
+         */
+        long getTransformTime();
+
+        /**
+         * Get the number of types matched by the agent.
+         *
+         * @return count of matched types
+         */
+        int getMatchedCount();
+
+        /**
+         * Get the number of types transformed by the agent.
+         *
+         * @return count of transformed types
+         */
+        int getTransformedCount();
+
+        /**
+         * Get the number of types ignored by the agent.
+         *
+         * @return count of ignored types
+         */
+        int getIgnoredCount();
+
+        /**
+         * Get the number of types the agent failed to transform.
+         *
+         * @return count of errored types
+         */
+        int getErrorCount();
+    }
+
+    /**
+     * This class implements the management view of the transformation metrics.
+     */
+    private static class View implements TransformMetricsMBean {
+
+        @Override
+        public long getInstallTime() {
+            return TransformMetrics.getInstallTime();
+        }
+
+        @Override
+        public long getProcessingTime() {
+            return TransformMetrics.getProcessingTime();
+        }
+
+        @Override
+        public long getTransformTime() {
+            return TransformMetrics.getTransformTime();
+        }
+
+        @Override
+        public int getMatchedCount() {
+            return TransformMetrics.getMatchedCount();
+        }
+
+        @Override
+        public int getTransformedCount() {
+            return TransformMetrics.getTransformedCount();
+        }
+
+        @Override
+        public int getIgnoredCount() {
+            return TransformMetrics.getIgnoredCount();
+        }
+
+        @Override
+        public int getErrorCount() {
+            return TransformMetrics.getErrorCount();
+        }
+    }
+
+    /**
+     * This listener counts the outcomes of type processing and measures the time from discovery to completion of each
+     * outermost type processed by the agent.
+     */
+    private static class MetricsListener extends AgentBuilder.Listener.Adapter {
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public void onDiscovery(String typeName, ClassLoader classLoader, JavaModule module, boolean loaded) {
+            long[] processing = PROCESSING.get();
+            int depth = (int) ++processing[0];
+            if (depth <= MAX_DEPTH) {
+                processing[depth] = System.nanoTime();
+            }
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public void onTransformation(TypeDescription typeDescription, ClassLoader classLoader, JavaModule module,
+                        boolean loaded, DynamicType dynamicType) {
+            TRANSFORMED_COUNT.incrementAndGet();
+            long[] processing = PROCESSING.get();
+            int depth = (int) processing[0];
+            if (depth > 0 && depth <= MAX_DEPTH) {
+                TRANSFORM_NANOS.addAndGet(System.nanoTime() - processing[depth]);
+            }
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public void onIgnored(TypeDescription typeDescription, ClassLoader classLoader, JavaModule module,
+                        boolean loaded) {
+            IGNORED_COUNT.incrementAndGet();
+        }
+
+        /**
+         * {@inheritDoc}
+         * <p>
+         * <b>NOTE</b>: Failures for <b>JUnit</b> types, which leave the hooks of <b>JUnit Foundation</b> uninstalled,
+         * and the first failure of all are logged at {@code WARN} level. Other failures are logged at {@code DEBUG}.
+         */
+        @Override
+        public void onError(String typeName, ClassLoader classLoader, JavaModule module, boolean loaded,
+                        Throwable throwable) {
+            int errorCount = ERROR_COUNT.incrementAndGet();
+            if ((errorCount == 1) || typeName.startsWith("org.junit.")) {
+                LOGGER.warn("Failed to transform type: {}", typeName, throwable);
+            } else {
+                LOGGER.debug("Failed to transform type: {} ({})", typeName, throwable.toString());
+            }
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public void onComplete(String typeName, ClassLoader classLoader, JavaModule module, boolean loaded) {
+            long[] processing = PROCESSING.get();
+            if (processing[0] > 0 && --processing[0] == 0) {
+                PROCESSING_NANOS.addAndGet(System.nanoTime() - processing[1]);
+            }
+        }
+    }
+}
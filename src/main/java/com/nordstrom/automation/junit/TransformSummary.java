@@ -0,0 +1,19 @@
+package com.nordstrom.automation.junit;
+
+/**
+ * This shutdown listener logs a summary of the overhead added by the <b>JUnit Foundation</b> Java agent when the JVM
+ * shuts down (see {@link TransformMetrics}).
+ * <p>
+ * To log this summary, declare this class in the
+ * <b>META-INF/services/com.nordstrom.automation.junit.ShutdownListener</b> provider configuration file.
+ */
+public class TransformSummary implements ShutdownListener {
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void onShutdown() {
+        TransformMetrics.logSummary();
+    }
+}
@@ -0,0 +1,187 @@
+package com.nordstrom.automation.junit;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.runners.model.FrameworkMethod;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.nordstrom.automation.junit.JUnitConfig.JUnitSettings;
+
+/**
+ * This class enforces the sampling policies of {@link MethodWatcher} and {@link RunWatcher} implementations. A watcher
+ * is sampled if its class is marked with the {@link SampledWatcher} annotation, or if it's listed in the
+ * {@link JUnitSettings#SAMPLED_WATCHERS SAMPLED_WATCHERS} setting as <i>class-name</i>:<i>every</i>[:<i>first</i>].
+ * Configured policies override annotated policies. All other watchers receive every notification.
+ * <p>
+ * Sampling decisions are made with atomic counters that are shared by all threads, so policies hold regardless of how
+ * tests are scheduled across threads:
+ * <ul>
+ *     <li>If a per-method limit is specified, only the first <i>K</i> invocations of each method are eligible.</li>
+ *     <li>Of the eligible invocations, one of every <i>N</i> is delivered.</li>
+ * </ul>
+ * The decision made for the start of an invocation or atomic test is retained on the thread that made it and also
+ * applies to its end, so sampled watchers always receive matching pairs of notifications. Watchers that implement both
+ * interfaces are sampled independently for each.
+ */
+final class WatcherSampler {
+    
+    private static final Logger LOGGER = LoggerFactory.getLogger(WatcherSampler.class);
+    private static final Map<String, Policy> CONFIGURED = getConfiguredPolicies();
+    private static final Policy UNSAMPLED = new Policy(1, 0);
+    private static final ClassValue<Policy> POLICIES = new ClassValue<Policy>() {
+        @Override
+        protected Policy computeValue(Class<?> type) {
+            Policy policy = CONFIGURED.get(type.getName());
+            if (policy == null) {
+                SampledWatcher annotation = type.getAnnotation(SampledWatcher.class);
+                if (annotation != null) {
+                    policy = new Policy(annotation.every(), annotation.firstPerMethod());
+                }
+            }
+            return (policy != null) ? policy : UNSAMPLED;
+        }
+    };
+    
+    private WatcherSampler() {
+        throw new AssertionError("WatcherSampler is a static utility class that cannot be instantiated");
+    }
+    
+    /**
+     * Decide if the specified watcher should be notified of the start of an invocation or atomic test. The decision
+     * is retained on the current thread until the matching call to {@link #exit(Object, Role)}.
+     * 
+     * @param watcher {@link MethodWatcher} or {@link RunWatcher} object
+     * @param role role in which the watcher is being notified
+     * @param method {@link FrameworkMethod} object for the invoked method or atomic test
+     * @return {@code true} if the watcher should be notified; otherwise {@code false}
+     */
+    static boolean enter(Object watcher, Role role, FrameworkMethod method) {
+        Policy policy = POLICIES.get(watcher.getClass());
+        if (policy == UNSAMPLED) {
+            return true;
+        }
+        Counters counters = policy.counters[role.ordinal()];
+        boolean sampled = counters.sample(policy, method);
+        counters.pending.get().push(sampled);
+        return sampled;
+    }
+    
+    /**
+     * Decide if the specified watcher should be notified of the end of an invocation or atomic test. This returns the
+     * decision made by the matching call to {@link #enter(Object, Role, FrameworkMethod)} on the current thread.
+     * 
+     * @param watcher {@link MethodWatcher} or {@link RunWatcher} object
+     * @param role role in which the watcher is being notified
+     * @return {@code true} if the watcher should be notified; otherwise {@code false}
+     */
+    static boolean exit(Object watcher, Role role) {
+        Policy policy = POLICIES.get(watcher.getClass());
+        if (policy == UNSAMPLED) {
+            return true;
+        }
+        Boolean sampled = policy.counters[role.ordinal()].pending.get().poll();
+        return (sampled == null) || sampled;
+    }
+    
+    /**
+     * Decide if the specified watcher should be notified of a standalone event (e.g. - an ignored test).
+     * 
+     * @param watcher {@link MethodWatcher} or {@link RunWatcher} object
+     * @param role role in which the watcher is being notified
+     * @param method {@link FrameworkMethod} object for the event
+     * @return {@code true} if the watcher should be notified; otherwise {@code false}
+     */
+    static boolean sample(Object watcher, Role role, FrameworkMethod method) {
+        Policy policy = POLICIES.get(watcher.getClass());
+        if (policy == UNSAMPLED) {
+            return true;
+        }
+        return policy.counters[role.ordinal()].sample(policy, method);
+    }
+    
+    /**
+     * Get the sampling policies specified by the {@link JUnitSettings#SAMPLED_WATCHERS SAMPLED_WATCHERS} setting.
+     * 
+     * @return map of watcher class names to sampling policies
+     */
+    private static Map<String, Policy> getConfiguredPolicies() {
+        Map<String, Policy> policies = new HashMap<>();
+        String watchers = JUnitConfig.getConfig().getString(JUnitSettings.SAMPLED_WATCHERS.key(), "");
+        for (String entry : watchers.trim().split("\\s*,\\s*")) {
+            if (entry.isEmpty()) {
+                continue;
+            }
+            String[] parts = entry.split("\\s*:\\s*");
+            try {
+                int every = (parts.length > 1) ? Integer.parseInt(parts[1]) : 1;
+                int first = (parts.length > 2) ? Integer.parseInt(parts[2]) : 0;
+                policies.put(parts[0], new Policy(every, first));
+            } catch (NumberFormatException e) {
+                LOGGER.warn("Ignoring invalid watcher sampling policy: {}", entry);
+            }
+        }
+        return policies;
+    }
+    
+    /**
+     * This enumeration defines the roles in which sampled watchers are notified.
+     */
+    enum Role {
+        /** {@link MethodWatcher} notifications */
+        INVOCATION,
+        /** {@link RunWatcher} notifications */
+        TEST
+    }
+    
+    /**
+     * This class represents the sampling policy of a watcher class.
+     */
+    private static class Policy {
+        private final int every;
+        private final int firstPerMethod;
+        private final Counters[] counters = new Counters[Role.values().length];
+        
+        Policy(int every, int firstPerMethod) {
+            this.every = Math.max(every, 1);
+            this.firstPerMethod = Math.max(firstPerMethod, 0);
+            for (int i = 0; i < counters.length; i++) {
+                counters[i] = new Counters();
+            }
+        }
+    }
+    
+    /**
+     * This class holds the sampling counters of a watcher class for a single role. The counters are shared by all
+     * threads; only the pending decisions are held per thread.
+     */
+    private static class Counters {
+        private final ConcurrentMap<FrameworkMethod, AtomicLong> perMethod = new ConcurrentHashMap<>();
+        private final ThreadLocal<Deque<Boolean>> pending = ThreadLocal.withInitial(ArrayDeque::new);
+        private final AtomicLong eligible = new AtomicLong();
+        
+        /**
+         * Decide if the next notification for the specified method should be delivered.
+         * 
+         * @param policy sampling policy
+         * @param method {@link FrameworkMethod} object
+         * @return {@code true} if the notification should be delivered; otherwise {@code false}
+         */
+        boolean sample(Policy policy, FrameworkMethod method) {
+            if (policy.firstPerMethod > 0) {
+                AtomicLong count = perMethod.computeIfAbsent(method, key -> new AtomicLong());
+                // check first, so the counters of exhausted methods stop changing
+                if ((count.get() >= policy.firstPerMethod) || (count.getAndIncrement() >= policy.firstPerMethod)) {
+                    return false;
+                }
+            }
+            return (eligible.getAndIncrement() % policy.every) == 0;
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package com.nordstrom.automation.junit;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+import org.junit.runner.JUnitCore;
+import org.junit.runner.Result;
+import org.testng.annotations.Test;
+
+public class AsyncDeliveryTest {
+    
+    @Test
+    public void verifyAsyncDelivery() {
+        AsyncMethodWatcher.getInvocations().clear();
+        Result result = JUnitCore.runClasses(HookInstallationTestCases.class);
+        assertTrue(result.wasSuccessful());
+        
+        // delivery is flushed when the outermost runner finishes
+        int before = AsyncMethodWatcher.getInvocations().indexOf("before:unitTestMethod");
+        int after = AsyncMethodWatcher.getInvocations().indexOf("after:unitTestMethod");
+        assertTrue(before >= 0, "Before invocation notification not delivered");
+        assertTrue(after > before, "After invocation notification not delivered in order");
+        assertEquals(AsyncMethodWatcher.getThreadNames().size(), 1);
+        assertTrue(AsyncMethodWatcher.getThreadNames().contains("junit-async-AsyncMethodWatcher"));
+    }
+}
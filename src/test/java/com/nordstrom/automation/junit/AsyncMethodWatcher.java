@@ -0,0 +1,37 @@
+package com.nordstrom.automation.junit;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.junit.runners.model.FrameworkMethod;
+
+@AsyncWatcher
+public class AsyncMethodWatcher implements MethodWatcher {
+    
+    private static final List<String> m_invocations = Collections.synchronizedList(new ArrayList<>());
+    private static final Set<String> m_threadNames = ConcurrentHashMap.newKeySet();
+    
+    @Override
+    public void beforeInvocation(Object target, FrameworkMethod method, Object... params) {
+        m_threadNames.add(Thread.currentThread().getName());
+        m_invocations.add("before:" + method.getName());
+    }
+
+    @Override
+    public void afterInvocation(Object target, FrameworkMethod method, Throwable thrown) {
+        m_threadNames.add(Thread.currentThread().getName());
+        m_invocations.add("after:" + method.getName());
+    }
+    
+    public static List<String> getInvocations() {
+        return m_invocations;
+    }
+    
+    public static Set<String> getThreadNames() {
+        return m_threadNames;
+    }
+    
+}
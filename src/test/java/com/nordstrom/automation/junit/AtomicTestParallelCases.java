@@ -0,0 +1,42 @@
+package com.nordstrom.automation.junit;
+
+import static org.junit.Assert.fail;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class AtomicTestParallelCases {
+    
+    @Before
+    public void beforeMethod() throws InterruptedException {
+        Thread.sleep(100);
+    }
+    
+    @Test
+    public void testPassingA() throws InterruptedException {
+        Thread.sleep(300);
+    }
+    
+    @Test
+    public void testFailingB() throws InterruptedException {
+        Thread.sleep(200);
+        fail("testFailingB");
+    }
+    
+    @Test
+    public void testPassingC() throws InterruptedException {
+        Thread.sleep(100);
+    }
+    
+    @Test
+    public void testFailingD() {
+        fail("testFailingD");
+    }
+    
+    @After
+    public void afterMethod() throws InterruptedException {
+        Thread.sleep(100);
+    }
+    
+}
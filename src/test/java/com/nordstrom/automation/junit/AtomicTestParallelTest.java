@@ -0,0 +1,68 @@
+package com.nordstrom.automation.junit;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertTrue;
+
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import org.junit.experimental.ParallelComputer;
+import org.junit.runner.JUnitCore;
+import org.junit.runner.Result;
+import org.junit.runners.BlockJUnit4ClassRunner;
+import org.junit.runners.model.FrameworkMethod;
+import org.junit.runners.model.TestClass;
+import org.testng.annotations.Test;
+
+public class AtomicTestParallelTest {
+    
+    private static final String PREFIX = AtomicTestParallelCases.class.getSimpleName() + ".";
+    
+    @Test
+    public void verifyParallelAttribution() {
+        RunListenerAdapter rla = new RunListenerAdapter();
+        
+        JUnitCore runner = new JUnitCore();
+        runner.addListener(rla);
+        Result result = runner.run(ParallelComputer.methods(), AtomicTestParallelCases.class);
+        assertFalse(result.wasSuccessful());
+        
+        assertEquals(rla.getPassedTests().size(), 2, "Incorrect passed test count");
+        assertEquals(rla.getFailedTests().size(), 2, "Incorrect failed test count");
+        
+        assertEquals(filter(UnitTestRunWatcher.getStartedTests()).size(), 4, "Incorrect started test count");
+        assertEquals(filter(UnitTestRunWatcher.getFinishedTests()).size(), 4, "Incorrect finished test count");
+        
+        Map<String, Throwable> failedTests = UnitTestRunWatcher.getFailedTests();
+        assertFalse(failedTests.containsKey(PREFIX + "testPassingA"), "testPassingA reported as failed");
+        assertFalse(failedTests.containsKey(PREFIX + "testPassingC"), "testPassingC reported as failed");
+        assertEquals(failedTests.get(PREFIX + "testFailingB").getMessage(), "testFailingB");
+        assertEquals(failedTests.get(PREFIX + "testFailingD").getMessage(), "testFailingD");
+    }
+    
+    @Test
+    public void verifySharedParticles() throws Exception {
+        BlockJUnit4ClassRunner runner = new BlockJUnit4ClassRunner(AtomicTestParallelCases.class);
+        TestClass testClass = runner.getTestClass();
+        FrameworkMethod methodA = new FrameworkMethod(AtomicTestParallelCases.class.getMethod("testPassingA"));
+        FrameworkMethod methodB = new FrameworkMethod(AtomicTestParallelCases.class.getMethod("testFailingB"));
+        FrameworkMethod before = new FrameworkMethod(AtomicTestParallelCases.class.getMethod("beforeMethod"));
+        
+        AtomicTest atomicA = new AtomicTest(runner, testClass, methodA);
+        AtomicTest atomicB = new AtomicTest(runner, testClass, methodB);
+        assertSame(atomicA.getParticles(), atomicB.getParticles(), "Particles must be shared per runner");
+        assertEquals(atomicA.getParticles().size(), 4, "Incorrect particle count");
+        assertTrue(atomicA.includes(methodB));
+        assertFalse(atomicA.includes(before));
+    }
+    
+    private static List<String> filter(List<String> testNames) {
+        synchronized (testNames) {
+            return testNames.stream().filter(name -> name.startsWith(PREFIX)).collect(Collectors.toList());
+        }
+    }
+
+}
@@ -17,6 +17,7 @@ public class AutomaticRetryTest {
     @BeforeClass
     public static void beforeClass() {
         System.setProperty(JUnitSettings.MAX_RETRY.key(), "3");
+        JUnitConfig.refreshSnapshot();
     }
     
     @Test
@@ -97,6 +98,7 @@ public class AutomaticRetryTest {
     @AfterClass
     public static void afterClass() {
         System.clearProperty(JUnitSettings.MAX_RETRY.key());
+        JUnitConfig.refreshSnapshot();
     }
     
 }
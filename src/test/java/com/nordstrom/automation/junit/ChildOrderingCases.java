@@ -0,0 +1,37 @@
+package com.nordstrom.automation.junit;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.Test;
+
+public class ChildOrderingCases {
+    
+    private static final List<String> m_executed = Collections.synchronizedList(new ArrayList<>());
+    
+    @Test
+    public void testShort() {
+        m_executed.add("testShort");
+    }
+    
+    @Test
+    public void testLong() {
+        m_executed.add("testLong");
+    }
+    
+    @Test
+    public void testMedium() {
+        m_executed.add("testMedium");
+    }
+    
+    @Test
+    public void testUnknown() {
+        m_executed.add("testUnknown");
+    }
+    
+    public static List<String> getExecuted() {
+        return m_executed;
+    }
+    
+}
@@ -0,0 +1,93 @@
+package com.nordstrom.automation.junit;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.runner.JUnitCore;
+import org.junit.runner.Request;
+import org.junit.runner.Result;
+import org.junit.runner.Runner;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import com.nordstrom.automation.junit.JUnitConfig.JUnitSettings;
+
+public class ChildOrderingTest {
+    
+    private static final String PREFIX = ChildOrderingCases.class.getName() + "#";
+    
+    @BeforeClass
+    public static void beforeClass() throws IOException {
+        Path timingFile = Paths.get("target", "ordering-timings.properties").toAbsolutePath();
+        Files.createDirectories(timingFile.getParent());
+        List<String> lines = Arrays.asList(
+                        PREFIX + "testShort=100",
+                        PREFIX + "testLong=300",
+                        PREFIX + "testMedium=200");
+        Files.write(timingFile, lines);
+        System.setProperty(JUnitSettings.TIMING_FILE.key(), timingFile.toString());
+    }
+    
+    @Test
+    public void verifyLongestFirst() {
+        System.setProperty(JUnitSettings.LONGEST_FIRST.key(), "true");
+        
+        Result result = JUnitCore.runClasses(ChildOrderingCases.class);
+        assertTrue(result.wasSuccessful());
+        assertEquals(ChildOrderingCases.getExecuted(),
+                        Arrays.asList("testUnknown", "testLong", "testMedium", "testShort"));
+    }
+    
+    @Test
+    public void verifySharding() {
+        System.setProperty(JUnitSettings.SHARD_COUNT.key(), "2");
+        Set<String> allTests = new HashSet<>();
+        List<List<String>> shards = new ArrayList<>();
+        
+        for (int index = 0; index < 2; index++) {
+            System.setProperty(JUnitSettings.SHARD_INDEX.key(), Integer.toString(index));
+            ChildOrderingCases.getExecuted().clear();
+            Runner runner = Request.aClass(ChildOrderingCases.class).getRunner();
+            Result result = new JUnitCore().run(runner);
+            assertTrue(result.wasSuccessful());
+            assertEquals(runner.getDescription().testCount(), ChildOrderingCases.getExecuted().size(),
+                            "Description must only list the tests of the shard");
+            assertEquals(result.getRunCount(), ChildOrderingCases.getExecuted().size(), "Incorrect run count");
+            shards.add(new ArrayList<>(ChildOrderingCases.getExecuted()));
+            allTests.addAll(ChildOrderingCases.getExecuted());
+        }
+        
+        assertEquals(shards.get(0).size() + shards.get(1).size(), 4, "Shards must not overlap");
+        assertEquals(allTests.size(), 4, "Shards must cover all tests");
+        // longest test is alone in its shard (apart from unrecorded tests)
+        int longShard = shards.get(0).contains("testLong") ? 0 : 1;
+        assertTrue(shards.get(1 - longShard).containsAll(Arrays.asList("testMedium", "testShort")));
+        assertEquals(ChildOrdering.getShardFor(PREFIX + "testLong", 2), 0);
+    }
+    
+    @AfterMethod
+    public void afterMethod() {
+        ChildOrderingCases.getExecuted().clear();
+        System.clearProperty(JUnitSettings.LONGEST_FIRST.key());
+        System.clearProperty(JUnitSettings.SHARD_COUNT.key());
+        System.clearProperty(JUnitSettings.SHARD_INDEX.key());
+    }
+    
+    @AfterClass
+    public static void afterClass() {
+        System.clearProperty(JUnitSettings.TIMING_FILE.key());
+    }
+    
+}
@@ -0,0 +1,64 @@
+package com.nordstrom.automation.junit;
+
+import static org.junit.Assert.fail;
+
+import java.util.concurrent.BrokenBarrierException;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class ConcurrentChildCases {
+    
+    private static final AtomicInteger active = new AtomicInteger();
+    private static final AtomicInteger maxActive = new AtomicInteger();
+    private static final CyclicBarrier barrier = new CyclicBarrier(2);
+    
+    @Before
+    public void beforeMethod() {
+        int current = active.incrementAndGet();
+        maxActive.accumulateAndGet(current, Math::max);
+    }
+    
+    @Test
+    public void testWaitA() throws Exception {
+        rendezvous();
+    }
+    
+    @Test
+    public void testWaitB() throws Exception {
+        rendezvous();
+    }
+    
+    @Test
+    public void testWaitC() throws Exception {
+        rendezvous();
+    }
+    
+    @Test
+    public void testFailing() throws Exception {
+        rendezvous();
+        fail("testFailing");
+    }
+    
+    @After
+    public void afterMethod() {
+        active.decrementAndGet();
+    }
+    
+    /**
+     * Wait for another test method to reach this point; this only succeeds if test methods run concurrently.
+     */
+    private static void rendezvous() throws InterruptedException, BrokenBarrierException, TimeoutException {
+        barrier.await(10, TimeUnit.SECONDS);
+    }
+    
+    public static int getMaxActive() {
+        return maxActive.get();
+    }
+    
+}
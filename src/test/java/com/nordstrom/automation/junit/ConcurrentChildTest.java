@@ -0,0 +1,95 @@
+package com.nordstrom.automation.junit;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.fail;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+
+import org.junit.runner.JUnitCore;
+import org.junit.runner.Request;
+import org.junit.runner.Result;
+import org.junit.runner.Runner;
+import org.junit.runners.model.TestClass;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import com.nordstrom.automation.junit.JUnitConfig.JUnitSettings;
+
+public class ConcurrentChildTest {
+    
+    private static final String PREFIX = ConcurrentChildCases.class.getSimpleName() + ".";
+    
+    @BeforeClass
+    public static void beforeClass() {
+        System.setProperty(JUnitSettings.CONCURRENT_CHILDREN.key(), "true");
+        System.setProperty(JUnitSettings.CLASS_CONCURRENCY.key(), "2");
+    }
+    
+    @Test
+    public void verifyBoundedConcurrency() {
+        UnitTestRunWatcher.getStartedTests().removeIf(name -> name.startsWith(PREFIX));
+        UnitTestRunWatcher.getFinishedTests().removeIf(name -> name.startsWith(PREFIX));
+        Runner runner = Request.aClass(ConcurrentChildCases.class).getRunner();
+        
+        // the same runner can be run more than once
+        for (int i = 1; i <= 2; i++) {
+            RunListenerAdapter rla = new RunListenerAdapter();
+            JUnitCore junit = new JUnitCore();
+            junit.addListener(rla);
+            Result result = junit.run(Request.runner(runner));
+            assertFalse(result.wasSuccessful());
+            
+            // the test methods only pass if pairs of them run concurrently
+            assertEquals(rla.getPassedTests().size(), 3, "Incorrect passed test count");
+            assertEquals(rla.getFailedTests().size(), 1, "Incorrect failed test count");
+            assertEquals(filter(UnitTestRunWatcher.getStartedTests()).size(), 4 * i, "Incorrect started test count");
+            assertEquals(filter(UnitTestRunWatcher.getFinishedTests()).size(), 4 * i, "Incorrect finished test count");
+        }
+        
+        assertTrue(ConcurrentChildCases.getMaxActive() <= 2, "Concurrency limit was exceeded");
+        assertEquals(UnitTestRunWatcher.getFailedTests().get(PREFIX + "testFailing").getMessage(), "testFailing");
+    }
+    
+    @Test
+    public void verifyFinishedAwaitsAllChildren() {
+        ConcurrentChildScheduler scheduler =
+                        new ConcurrentChildScheduler(new TestClass(ConcurrentChildCases.class), 2);
+        AtomicBoolean done = new AtomicBoolean();
+        scheduler.schedule(() -> {
+            throw new IllegalStateException("child failed");
+        });
+        scheduler.schedule(() -> {
+            try {
+                Thread.sleep(200);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            done.set(true);
+        });
+        try {
+            scheduler.finished();
+            fail("Child failure wasn't propagated");
+        } catch (IllegalStateException e) {
+            assertEquals(e.getMessage(), "child failed");
+        }
+        assertTrue(done.get(), "Scheduler finished before all children");
+    }
+    
+    private static List<String> filter(List<String> testNames) {
+        synchronized (testNames) {
+            return testNames.stream().filter(name -> name.startsWith(PREFIX)).collect(Collectors.toList());
+        }
+    }
+    
+    @AfterClass
+    public static void afterClass() {
+        System.clearProperty(JUnitSettings.CONCURRENT_CHILDREN.key());
+        System.clearProperty(JUnitSettings.CLASS_CONCURRENCY.key());
+    }
+    
+}
@@ -0,0 +1,53 @@
+package com.nordstrom.automation.junit;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import org.junit.runner.JUnitCore;
+import org.junit.runner.Result;
+import org.testng.annotations.Test;
+
+import com.nordstrom.automation.junit.EventJournal.EventType;
+import com.nordstrom.automation.junit.EventJournal.Record;
+
+public class EventJournalTest {
+    
+    private static final String CLASS_NAME = HookInstallationTestCases.class.getName();
+    private static final String METHOD_NAME = CLASS_NAME + "#unitTestMethod";
+    
+    @Test
+    public void verifyJournalRecords() throws IOException {
+        JUnitCore runner = new JUnitCore();
+        Result result = runner.run(HookInstallationTestCases.class);
+        assertTrue(result.wasSuccessful());
+        EventJournal.flush();
+        
+        List<Record> records = new ArrayList<>();
+        EventJournal.read(EventJournal.getJournalFile(), record -> {
+            if (CLASS_NAME.equals(record.getTestClass()) || METHOD_NAME.equals(record.getMethod())) {
+                records.add(record);
+            }
+        });
+        
+        records.sort(Comparator.comparingLong(Record::getElapsedNanos));
+        List<EventType> lastRun = new ArrayList<>();
+        for (Record record : records) {
+            if (record.getEventType() == EventType.TEST_CLASS_STARTED) {
+                lastRun.clear();
+            }
+            lastRun.add(record.getEventType());
+        }
+        
+        assertEquals(lastRun.get(0), EventType.TEST_CLASS_STARTED);
+        assertEquals(lastRun.get(lastRun.size() - 1), EventType.TEST_CLASS_FINISHED);
+        assertTrue(lastRun.indexOf(EventType.TEST_STARTED) < lastRun.indexOf(EventType.BEFORE_INVOCATION));
+        assertTrue(lastRun.indexOf(EventType.BEFORE_INVOCATION) < lastRun.indexOf(EventType.AFTER_INVOCATION));
+        assertTrue(lastRun.indexOf(EventType.AFTER_INVOCATION) < lastRun.indexOf(EventType.TEST_FINISHED));
+        assertEquals(EventJournal.getDroppedCount(), 0L);
+    }
+}
@@ -0,0 +1,37 @@
+package com.nordstrom.automation.junit;
+
+import static org.junit.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.Test;
+
+public class FailFastCases {
+    
+    private static final List<String> m_executed = Collections.synchronizedList(new ArrayList<>());
+    
+    @Test
+    public void testOne() {
+        m_executed.add("testOne");
+        fail("testOne");
+    }
+    
+    @Test
+    public void testTwo() {
+        m_executed.add("testTwo");
+        fail("testTwo");
+    }
+    
+    @Test
+    public void testThree() {
+        m_executed.add("testThree");
+        fail("testThree");
+    }
+    
+    public static List<String> getExecuted() {
+        return m_executed;
+    }
+    
+}
@@ -0,0 +1,32 @@
+package com.nordstrom.automation.junit;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.Test;
+
+public class FailedFirstCases {
+    
+    private static final List<String> m_executed = Collections.synchronizedList(new ArrayList<>());
+    
+    @Test
+    public void testAlpha() {
+        m_executed.add("testAlpha");
+    }
+    
+    @Test
+    public void testBravo() {
+        m_executed.add("testBravo");
+    }
+    
+    @Test
+    public void testCharlie() {
+        m_executed.add("testCharlie");
+    }
+    
+    public static List<String> getExecuted() {
+        return m_executed;
+    }
+    
+}
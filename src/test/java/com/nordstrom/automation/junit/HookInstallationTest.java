@@ -1,11 +1,23 @@
 package com.nordstrom.automation.junit;
 
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 
+import java.lang.management.ManagementFactory;
 import java.util.Optional;
 
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import org.junit.runner.Description;
 import org.junit.runner.JUnitCore;
 import org.junit.runner.Result;
+import org.junit.runners.BlockJUnit4ClassRunner;
+import org.junit.runners.model.FrameworkMethod;
+import org.junit.runners.model.InitializationError;
+import org.junit.runners.model.TestClass;
 import org.testng.annotations.Test;
 
 public class HookInstallationTest {
@@ -29,5 +41,94 @@ public class HookInstallationTest {
         assertTrue(watcher.getEnterAfterClass().contains("unitTestAfterClass"));
         assertTrue(watcher.getLeaveAfterClass().contains("unitTestAfterClass"));
     }
+    
+    @Test
+    public void verifyTransformMetrics() {
+        JUnitCore runner = new JUnitCore();
+        Result result = runner.run(HookInstallationTestCases.class);
+        assertTrue(result.wasSuccessful());
+        assertTrue(TransformMetrics.getInstallTime() > 0);
+        assertTrue(TransformMetrics.getProcessingTime() > 0);
+        assertTrue(TransformMetrics.getTransformTime() > 0);
+        // ParentRunner, BlockJUnit4ClassRunner, and at least one ReflectiveCallable subclass
+        assertTrue(TransformMetrics.getTransformedCount() >= 3);
+        assertTrue(TransformMetrics.getMatchedCount() >= TransformMetrics.getTransformedCount());
+        assertTrue(TransformMetrics.getIgnoredCount() > 0);
+        assertEquals(0, TransformMetrics.getErrorCount());
+    }
+    
+    @Test
+    public void verifyTransformMetricsMBean() throws JMException {
+        JUnitCore runner = new JUnitCore();
+        Result result = runner.run(HookInstallationTestCases.class);
+        assertTrue(result.wasSuccessful());
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        ObjectName name = new ObjectName(TransformMetrics.OBJECT_NAME);
+        assertEquals(TransformMetrics.getTransformedCount(), server.getAttribute(name, "TransformedCount"));
+    }
+    
+    @Test
+    public void verifyParentOfScheduledChild() throws NoSuchMethodException {
+        JUnitCore runner = new JUnitCore();
+        Result result = runner.run(HookInstallationTestCases.class);
+        assertTrue(result.wasSuccessful());
+        FrameworkMethod method = new FrameworkMethod(HookInstallationTestCases.class.getMethod("unitTestMethod"));
+        Object parent = LifecycleHooks.getParentOf(method);
+        assertTrue(parent instanceof BlockJUnit4ClassRunner);
+        assertEquals(HookInstallationTestCases.class, LifecycleHooks.getTestClassOf(parent).getJavaClass());
+    }
+    
+    @Test
+    public void verifyReleasedAtomicTest() throws NoSuchMethodException {
+        JUnitCore runner = new JUnitCore();
+        Result result = runner.run(HookInstallationTestCases.class);
+        assertTrue(result.wasSuccessful());
+        FrameworkMethod method = new FrameworkMethod(HookInstallationTestCases.class.getMethod("unitTestMethod"));
+        AtomicTest atomicTest = RunReflectiveCall.getAtomicTestFor(method);
+        assertEquals(method, atomicTest.getIdentity());
+        assertSame(atomicTest, RunReflectiveCall.getAtomicTestFor(atomicTest.getTestClass()));
+    }
+    
+    @Test
+    public void verifySharedTestClassScan() throws InitializationError {
+        BlockJUnit4ClassRunner runner1 = new BlockJUnit4ClassRunner(HookInstallationTestCases.class);
+        BlockJUnit4ClassRunner runner2 = new BlockJUnit4ClassRunner(HookInstallationTestCases.class);
+        TestClass testClass1 = LifecycleHooks.getTestClassOf(runner1);
+        TestClass testClass2 = LifecycleHooks.getTestClassOf(runner2);
+        assertSame(testClass1, testClass2);
+        assertSame(runner2, LifecycleHooks.getRunnerFor(testClass2));
+        assertEquals(HookInstallationTestCases.class, testClass2.getJavaClass());
+        FrameworkMethod method1 = testClass1.getAnnotatedMethods(org.junit.Test.class).get(0);
+        FrameworkMethod method2 = testClass2.getAnnotatedMethods(org.junit.Test.class).get(0);
+        assertSame(method1, method2);
+        assertSame(testClass2, LifecycleHooks.getTestClassWith(method2));
+    }
+    
+    @Test
+    public void verifyCachedChildDescription() throws InitializationError, NoSuchMethodException {
+        DescribingRunner runner = new DescribingRunner(HookInstallationTestCases.class);
+        FrameworkMethod method = new FrameworkMethod(HookInstallationTestCases.class.getMethod("unitTestMethod"));
+        Description description = LifecycleHooks.describeChildOf(runner, method);
+        assertEquals("unitTestMethod", description.getMethodName());
+        assertSame(description, LifecycleHooks.describeChildOf(runner, method));
+        assertEquals(runner.describeCount, 1);
+    }
+    
+    /**
+     * This runner creates a new description each time it's asked to describe a test method.
+     */
+    public static class DescribingRunner extends BlockJUnit4ClassRunner {
+        private int describeCount;
+        
+        public DescribingRunner(Class<?> testClass) throws InitializationError {
+            super(testClass);
+        }
+        
+        @Override
+        protected Description describeChild(FrameworkMethod method) {
+            describeCount++;
+            return Description.createTestDescription(getTestClass().getJavaClass(), method.getName());
+        }
+    }
 
 }
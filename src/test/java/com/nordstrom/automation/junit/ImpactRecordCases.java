@@ -0,0 +1,14 @@
+package com.nordstrom.automation.junit;
+
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Test;
+
+public class ImpactRecordCases {
+    
+    @Test
+    public void testTouchTarget() {
+        assertEquals(42, new ImpactTarget().getValue());
+    }
+    
+}
@@ -0,0 +1,9 @@
+package com.nordstrom.automation.junit;
+
+public class ImpactTarget {
+    
+    public int getValue() {
+        return 42;
+    }
+    
+}
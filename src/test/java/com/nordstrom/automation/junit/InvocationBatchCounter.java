@@ -0,0 +1,23 @@
+package com.nordstrom.automation.junit;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+public class InvocationBatchCounter implements InvocationBatchWatcher {
+    
+    private static final List<InvocationRecord> m_records = Collections.synchronizedList(new ArrayList<>());
+    
+    @Override
+    public void invocationsCompleted(List<InvocationRecord> batch) {
+        // records are reused after delivery, so retain copies
+        for (InvocationRecord record : batch) {
+            m_records.add(record.copy());
+        }
+    }
+    
+    public static List<InvocationRecord> getRecords() {
+        return m_records;
+    }
+    
+}
@@ -0,0 +1,39 @@
+package com.nordstrom.automation.junit;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.runner.JUnitCore;
+import org.junit.runner.Result;
+import org.testng.annotations.Test;
+
+public class InvocationBatchTest {
+    
+    @Test
+    public void verifyInvocationBatches() {
+        InvocationBatchCounter.getRecords().clear();
+        Result result = JUnitCore.runClasses(HookInstallationTestCases.class);
+        assertTrue(result.wasSuccessful());
+        
+        // batches are delivered when the test class finishes and when the outermost runner finishes
+        List<String> methodNames = new ArrayList<>();
+        synchronized (InvocationBatchCounter.getRecords()) {
+            for (InvocationRecord record : InvocationBatchCounter.getRecords()) {
+                if (record.getTestClass() == HookInstallationTestCases.class) {
+                    methodNames.add(record.getMethod().getName());
+                    assertEquals(record.isTest(), "unitTestMethod".equals(record.getMethod().getName()));
+                    assertTrue(record.getDuration() >= 0);
+                    assertNull(record.getThrown());
+                }
+            }
+        }
+        assertEquals(methodNames.size(), 5);
+        assertTrue(methodNames.contains("unitTestBeforeClass"));
+        assertTrue(methodNames.contains("unitTestMethod"));
+        assertTrue(methodNames.contains("unitTestAfterClass"));
+    }
+}
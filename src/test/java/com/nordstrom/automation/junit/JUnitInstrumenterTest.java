@@ -0,0 +1,143 @@
+package com.nordstrom.automation.junit;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.Enumeration;
+import java.util.List;
+
+import org.junit.runners.ParentRunner;
+import org.testng.annotations.Test;
+
+import net.bytebuddy.dynamic.ClassFileLocator;
+import net.bytebuddy.pool.TypePool;
+
+public class JUnitInstrumenterTest {
+    
+    private static final Path TARGET_JAR = Paths.get("target", "junit-instrumented.jar");
+    private static final Path SERVICES_DIR = Paths.get("target", "isolated-services");
+    
+    @Test
+    public void verifyInstrumentation() throws IOException, URISyntaxException {
+        Path sourceJar = Paths.get(ParentRunner.class.getProtectionDomain().getCodeSource().getLocation().toURI());
+        int count = JUnitInstrumenter.instrument(sourceJar, TARGET_JAR);
+        assertTrue(count >= 3, "Expected ParentRunner, BlockJUnit4ClassRunner, and ReflectiveCallable subclasses");
+        
+        try (ClassFileLocator locator = ClassFileLocator.ForJarFile.of(TARGET_JAR.toFile())) {
+            TypePool typePool = new TypePool.Default.WithLazyResolution(new TypePool.CacheProvider.Simple(),
+                    new ClassFileLocator.Compound(locator, ClassFileLocator.ForClassLoader.ofSystemLoader()),
+                    TypePool.Default.ReaderMode.FAST);
+            assertTrue(typePool.describe("org.junit.runners.ParentRunner").resolve()
+                    .isAssignableTo(Hooked.class));
+            assertTrue(typePool.describe("org.junit.runners.BlockJUnit4ClassRunner").resolve()
+                    .isAssignableTo(Hooked.class));
+            assertTrue(typePool.describe("org.junit.runners.model.FrameworkMethod$1").resolve()
+                    .isAssignableTo(Hooked.class));
+        }
+    }
+    
+    @Test(dependsOnMethods = "verifyInstrumentation")
+    public void verifyHooksWithoutAgent() throws Exception {
+        Path services = SERVICES_DIR.resolve("META-INF/services/" + RunWatcher.class.getName());
+        Files.createDirectories(services.getParent());
+        Files.write(services, Arrays.asList(UnitTestRunWatcher.class.getName()));
+        
+        Thread thread = Thread.currentThread();
+        ClassLoader contextLoader = thread.getContextClassLoader();
+        try (IsolatedClassLoader loader =
+                        new IsolatedClassLoader(TARGET_JAR.toUri().toURL(), SERVICES_DIR.toUri().toURL())) {
+            thread.setContextClassLoader(loader);
+            
+            Class<?> parentRunner = loader.loadClass(ParentRunner.class.getName());
+            assertEquals(parentRunner.getClassLoader(), loader, "ParentRunner must be loaded from instrumented jar");
+            assertTrue(loader.loadClass(Hooked.class.getName()).isAssignableFrom(parentRunner),
+                    "ParentRunner must be instrumented");
+            
+            Class<?> testClass = loader.loadClass(HookInstallationTestCases.class.getName());
+            Object result = loader.loadClass("org.junit.runner.JUnitCore").getMethod("runClasses", Class[].class)
+                    .invoke(null, (Object) new Class<?>[] { testClass });
+            assertEquals(result.getClass().getMethod("getRunCount").invoke(result), 1, "Incorrect run count");
+            assertEquals(result.getClass().getMethod("wasSuccessful").invoke(result), Boolean.TRUE);
+            
+            List<?> startedTests = (List<?>) loader.loadClass(UnitTestRunWatcher.class.getName())
+                    .getMethod("getStartedTests").invoke(null);
+            assertEquals(startedTests.size(), 1, "Run watcher hooks must fire without the Java agent");
+        } finally {
+            thread.setContextClassLoader(contextLoader);
+        }
+    }
+    
+    @Test(dependsOnMethods = "verifyInstrumentation", expectedExceptions = IllegalStateException.class)
+    public void verifyRejectsInstrumentedJar() throws IOException {
+        JUnitInstrumenter.instrument(TARGET_JAR, Paths.get("target", "junit-instrumented-twice.jar"));
+    }
+    
+    /**
+     * This class loader loads JUnit classes from the instrumented jar and JUnit Foundation classes from the class
+     * files of the test class path, isolating both from the copies that the Java agent transformed. Service provider
+     * configuration files are only read from the URLs of this loader.
+     */
+    private static class IsolatedClassLoader extends URLClassLoader {
+        
+        IsolatedClassLoader(URL... urls) {
+            super(urls, JUnitInstrumenterTest.class.getClassLoader());
+        }
+        
+        @Override
+        protected Class<?> loadClass(String name, boolean resolve) throws ClassNotFoundException {
+            if (!name.startsWith("org.junit.") && !name.startsWith("junit.")
+                    && !name.startsWith("com.nordstrom.automation.junit.")) {
+                return super.loadClass(name, resolve);
+            }
+            synchronized (getClassLoadingLock(name)) {
+                Class<?> loaded = findLoadedClass(name);
+                if (loaded == null) {
+                    loaded = name.startsWith("com.nordstrom.automation.junit.") ? defineFromParent(name)
+                            : findClass(name);
+                }
+                if (resolve) {
+                    resolveClass(loaded);
+                }
+                return loaded;
+            }
+        }
+        
+        @Override
+        public Enumeration<URL> getResources(String name) throws IOException {
+            return name.startsWith("META-INF/services/") ? findResources(name) : super.getResources(name);
+        }
+        
+        private Class<?> defineFromParent(String name) throws ClassNotFoundException {
+            String path = name.replace('.', '/') + ".class";
+            try (InputStream inputStream = getParent().getResourceAsStream(path)) {
+                if (inputStream == null) {
+                    throw new ClassNotFoundException(name);
+                }
+                byte[] bytes = readAll(inputStream);
+                return defineClass(name, bytes, 0, bytes.length);
+            } catch (IOException e) {
+                throw new ClassNotFoundException(name, e);
+            }
+        }
+        
+        private static byte[] readAll(InputStream inputStream) throws IOException {
+            ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+            byte[] chunk = new byte[8192];
+            int count;
+            while ((count = inputStream.read(chunk)) != -1) {
+                buffer.write(chunk, 0, count);
+            }
+            return buffer.toByteArray();
+        }
+    }
+}
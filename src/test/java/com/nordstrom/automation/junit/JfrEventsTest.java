@@ -0,0 +1,75 @@
+package com.nordstrom.automation.junit;
+
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.runner.JUnitCore;
+import org.junit.runner.Result;
+import org.testng.SkipException;
+import org.testng.annotations.Test;
+
+import com.nordstrom.automation.junit.JUnitConfig.JUnitSettings;
+
+public class JfrEventsTest {
+    
+    private static final String PREFIX = JfrEvents.class.getPackage().getName() + ".";
+    
+    @Test
+    public void verifyJfrEvents() throws Exception {
+        if (!JfrEvents.isEnabled()) {
+            throw new SkipException("Java Flight Recorder event API is unavailable");
+        }
+        
+        Class<?> recordingClass = Class.forName("jdk.jfr.Recording");
+        Object recording = recordingClass.newInstance();
+        for (String name : new String[] {"Invocation", "Instantiation", "Retry"}) {
+            recordingClass.getMethod("enable", String.class).invoke(recording, PREFIX + name);
+        }
+        
+        String maxRetry = System.getProperty(JUnitSettings.MAX_RETRY.key());
+        System.setProperty(JUnitSettings.MAX_RETRY.key(), "1");
+        JUnitConfig.refreshSnapshot();
+        recordingClass.getMethod("start").invoke(recording);
+        try {
+            Result result = JUnitCore.runClasses(HookInstallationTestCases.class, AutomaticRetryFailing.class);
+            assertFalse(result.wasSuccessful());
+        } finally {
+            recordingClass.getMethod("stop").invoke(recording);
+            if (maxRetry == null) {
+                System.clearProperty(JUnitSettings.MAX_RETRY.key());
+            } else {
+                System.setProperty(JUnitSettings.MAX_RETRY.key(), maxRetry);
+            }
+            JUnitConfig.refreshSnapshot();
+        }
+        
+        Path dump = Paths.get("target", "junit-events.jfr");
+        Files.deleteIfExists(dump);
+        recordingClass.getMethod("dump", Path.class).invoke(recording, dump);
+        recordingClass.getMethod("close").invoke(recording);
+        
+        Map<String, String> methods = new HashMap<>();
+        List<?> events = (List<?>) Class.forName("jdk.jfr.consumer.RecordingFile")
+                .getMethod("readAllEvents", Path.class).invoke(null, dump);
+        for (Object event : events) {
+            Object eventType = event.getClass().getMethod("getEventType").invoke(event);
+            String typeName = (String) eventType.getClass().getMethod("getName").invoke(eventType);
+            String method = (String) event.getClass().getMethod("getString", String.class).invoke(event,
+                    typeName.endsWith("Instantiation") ? "testClass" : "method");
+            methods.put(typeName + ":" + method, typeName);
+        }
+        
+        assertTrue(methods.containsKey(PREFIX + "Invocation:unitTestMethod"), "Missing test invocation event");
+        assertTrue(methods.containsKey(PREFIX + "Invocation:unitTestBeforeMethod"), "Missing fixture invocation event");
+        assertTrue(methods.containsKey(PREFIX + "Instantiation:" + HookInstallationTestCases.class.getName()),
+                "Missing instantiation event");
+        assertTrue(methods.containsKey(PREFIX + "Retry:testFailed"), "Missing retry event");
+    }
+}
@@ -11,6 +11,7 @@ public class MethodExpectedTimeout {
     
     static {
         System.setProperty(JUnitSettings.TEST_TIMEOUT.key(), "500");
+        JUnitConfig.refreshSnapshot();
     }
     
     @Test
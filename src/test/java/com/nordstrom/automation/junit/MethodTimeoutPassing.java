@@ -12,6 +12,7 @@ public class MethodTimeoutPassing {
     
     static {
         System.setProperty(JUnitSettings.TEST_TIMEOUT.key(), "500");
+        JUnitConfig.refreshSnapshot();
     }
     
     @Test
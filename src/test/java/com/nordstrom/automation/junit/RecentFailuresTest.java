@@ -0,0 +1,76 @@
+package com.nordstrom.automation.junit;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.fail;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+
+import org.junit.runner.JUnitCore;
+import org.junit.runner.Result;
+import org.junit.runner.notification.StoppedByUserException;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import com.nordstrom.automation.junit.JUnitConfig.JUnitSettings;
+
+public class RecentFailuresTest {
+    
+    private static String failureFile;
+    
+    @BeforeClass
+    public static void beforeClass() throws IOException {
+        failureFile = System.getProperty(JUnitSettings.FAILURE_FILE.key());
+        Path recentFailures = Paths.get("target", "recent-failures.txt").toAbsolutePath();
+        Files.createDirectories(recentFailures.getParent());
+        Files.write(recentFailures, Arrays.asList(FailedFirstCases.class.getName() + "#testCharlie"));
+        System.setProperty(JUnitSettings.FAILURE_FILE.key(), recentFailures.toString());
+    }
+    
+    @Test
+    public void verifyFailedFirst() {
+        System.setProperty(JUnitSettings.FAILED_FIRST.key(), "true");
+        try {
+            Result result = JUnitCore.runClasses(FailedFirstCases.class);
+            assertTrue(result.wasSuccessful());
+            assertEquals(FailedFirstCases.getExecuted().size(), 3, "Incorrect executed test count");
+            assertEquals(FailedFirstCases.getExecuted().get(0), "testCharlie", "Recent failure must run first");
+        } finally {
+            System.clearProperty(JUnitSettings.FAILED_FIRST.key());
+        }
+    }
+    
+    @Test
+    public void verifyFailFast() {
+        System.setProperty(JUnitSettings.FAIL_FAST.key(), "2");
+        try {
+            // failures are counted per run, so each run stops after the same number of failures
+            for (int i = 0; i < 2; i++) {
+                FailFastCases.getExecuted().clear();
+                try {
+                    JUnitCore.runClasses(FailFastCases.class);
+                    fail("Run must be stopped");
+                } catch (StoppedByUserException e) {
+                    assertEquals(FailFastCases.getExecuted().size(), 2, "Run must stop after second failure");
+                }
+            }
+        } finally {
+            System.clearProperty(JUnitSettings.FAIL_FAST.key());
+        }
+    }
+    
+    @AfterClass
+    public static void afterClass() {
+        if (failureFile != null) {
+            System.setProperty(JUnitSettings.FAILURE_FILE.key(), failureFile);
+        } else {
+            System.clearProperty(JUnitSettings.FAILURE_FILE.key());
+        }
+    }
+    
+}
@@ -0,0 +1,30 @@
+package com.nordstrom.automation.junit;
+
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Before;
+import org.junit.Test;
+
+public class ResourceMeterCases {
+    
+    private static final int ARRAY_SIZE = 4 * 1024 * 1024;
+    
+    private byte[] m_buffer;
+    
+    @Before
+    public void setUp() {
+        m_buffer = null;
+    }
+    
+    @Test
+    public void allocatingTest() {
+        m_buffer = new byte[ARRAY_SIZE];
+        assertEquals(ARRAY_SIZE, m_buffer.length);
+    }
+    
+    @Test
+    public void frugalTest() {
+        assertEquals(null, m_buffer);
+    }
+    
+}
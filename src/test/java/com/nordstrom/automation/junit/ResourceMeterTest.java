@@ -0,0 +1,36 @@
+package com.nordstrom.automation.junit;
+
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+import org.junit.runner.JUnitCore;
+import org.junit.runner.Result;
+import org.testng.annotations.Test;
+
+import com.nordstrom.automation.junit.JUnitConfig.JUnitSettings;
+
+public class ResourceMeterTest {
+    
+    private static final String CLASS_NAME = ResourceMeterCases.class.getName();
+    
+    @Test
+    public void verifyResourceBudget() {
+        System.setProperty(JUnitSettings.ALLOCATION_LIMIT.key(), Integer.toString(1024 * 1024));
+        JUnitConfig.refreshSnapshot();
+        try {
+            Result result = JUnitCore.runClasses(ResourceMeterCases.class);
+            assertTrue(result.wasSuccessful());
+        } finally {
+            System.clearProperty(JUnitSettings.ALLOCATION_LIMIT.key());
+            JUnitConfig.refreshSnapshot();
+        }
+        
+        assertTrue(ResourceMeter.getAllocatedBytes(CLASS_NAME + "#allocatingTest") >= 4 * 1024 * 1024);
+        assertTrue(ResourceMeter.getCpuTime(CLASS_NAME + "#allocatingTest") >= 0);
+        assertTrue(ResourceMeter.getClassAllocatedBytes(CLASS_NAME)
+                >= ResourceMeter.getAllocatedBytes(CLASS_NAME + "#allocatingTest"));
+        assertTrue(ResourceMeter.getOverBudget().contains(CLASS_NAME + "#allocatingTest"));
+        assertFalse(ResourceMeter.getOverBudget().contains(CLASS_NAME + "#frugalTest"));
+        assertFalse(ResourceMeter.getOverBudget().contains(CLASS_NAME + "#setUp"));
+    }
+}
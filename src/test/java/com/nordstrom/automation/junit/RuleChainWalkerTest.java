@@ -0,0 +1,63 @@
+package com.nordstrom.automation.junit;
+
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertSame;
+
+import java.lang.ref.WeakReference;
+
+import org.junit.rules.ExternalResource;
+import org.junit.rules.RuleChain;
+import org.junit.rules.TestName;
+import org.junit.rules.TestRule;
+import org.junit.rules.TestWatcher;
+import org.junit.rules.Timeout;
+import org.testng.annotations.Test;
+
+public class RuleChainWalkerTest {
+    
+    @Test
+    public void verifyAttachedRuleLookup() {
+        TestWatcher watcher = new TestWatcher() { };
+        ExternalResource resource = new ExternalResource() { };
+        TestName testName = new TestName();
+        RuleChain ruleChain = RuleChain.outerRule(watcher).around(resource).around(testName);
+        
+        assertSame(RuleChainWalker.getAttachedRule(ruleChain, TestName.class).get(), testName);
+        assertSame(RuleChainWalker.getAttachedRule(ruleChain, TestWatcher.class).get(), testName);
+        assertSame(RuleChainWalker.getAttachedRule(ruleChain, ExternalResource.class).get(), resource);
+        assertSame(RuleChainWalker.getAttachedRule(ruleChain, TestRule.class).get(), testName);
+        assertFalse(RuleChainWalker.getAttachedRule(ruleChain, Timeout.class).isPresent());
+    }
+    
+    @Test
+    public void verifyRuleChainOwnerIsReleased() throws InterruptedException {
+        WeakReference<Object> ownerRef = lookUpRuleOfNewOwner();
+        for (int i = 0; (i < 50) && (ownerRef.get() != null); i++) {
+            System.gc();
+            Thread.sleep(20);
+        }
+        assertNull(ownerRef.get(), "Owner of rule chain was retained");
+    }
+    
+    private static WeakReference<Object> lookUpRuleOfNewOwner() {
+        RuleChainOwner owner = new RuleChainOwner();
+        assertSame(RuleChainWalker.getAttachedRule(owner.ruleChain, OwnedRule.class).get().owner, owner);
+        return new WeakReference<>(owner);
+    }
+    
+    /**
+     * This class mimics a test class whose rule chain holds a rule that references the test instance.
+     */
+    private static class RuleChainOwner {
+        private final RuleChain ruleChain = RuleChain.outerRule(new OwnedRule(this));
+    }
+    
+    private static class OwnedRule extends ExternalResource {
+        private final Object owner;
+        
+        OwnedRule(Object owner) {
+            this.owner = owner;
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package com.nordstrom.automation.junit;
+
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assume.assumeTrue;
+
+import org.junit.Ignore;
+import org.junit.Test;
+
+public class RunStatisticsCases {
+    
+    @Test
+    public void testPassed() {
+        assertTrue(true);
+    }
+    
+    @Test
+    @NoRetry
+    public void testFailed() {
+        assertTrue(false);
+    }
+    
+    @Test
+    public void testAssumptionFailed() {
+        assumeTrue(false);
+    }
+    
+    @Test
+    @Ignore
+    public void testIgnored() {
+        assertTrue(false);
+    }
+    
+}
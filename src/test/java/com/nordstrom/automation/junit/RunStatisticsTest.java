@@ -0,0 +1,56 @@
+package com.nordstrom.automation.junit;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+import java.lang.management.ManagementFactory;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import org.junit.runner.JUnitCore;
+import org.junit.runner.Result;
+import org.testng.annotations.Test;
+
+import com.nordstrom.automation.junit.JUnitConfig.JUnitSettings;
+
+public class RunStatisticsTest {
+    
+    @Test
+    public void verifyRunStatistics() throws JMException {
+        long started = RunStatistics.getStartedCount();
+        long passed = RunStatistics.getPassedCount();
+        long failed = RunStatistics.getFailedCount();
+        long assumptionFailed = RunStatistics.getAssumptionFailedCount();
+        long ignored = RunStatistics.getIgnoredCount();
+        long retried = RunStatistics.getRetriedCount();
+        long artifacts = RunStatistics.getArtifactCount();
+        long testTime = RunStatistics.getTestTime();
+        
+        System.setProperty(JUnitSettings.MAX_RETRY.key(), "3");
+        JUnitConfig.refreshSnapshot();
+        try {
+            Result result = JUnitCore.runClasses(RunStatisticsCases.class, AutomaticRetryFailing.class,
+                            ArtifactCollectorFailing.class);
+            assertFalse(result.wasSuccessful());
+        } finally {
+            System.clearProperty(JUnitSettings.MAX_RETRY.key());
+            JUnitConfig.refreshSnapshot();
+        }
+        
+        assertEquals(RunStatistics.getStartedCount() - started, 6);
+        assertEquals(RunStatistics.getPassedCount() - passed, 1);
+        assertEquals(RunStatistics.getFailedCount() - failed, 3);
+        assertEquals(RunStatistics.getAssumptionFailedCount() - assumptionFailed, 1);
+        assertEquals(RunStatistics.getIgnoredCount() - ignored, 1);
+        assertTrue(RunStatistics.getRetriedCount() - retried >= 3);
+        assertTrue(RunStatistics.getArtifactCount() - artifacts >= 1);
+        assertTrue(RunStatistics.getTestTime() > testTime);
+        
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        ObjectName name = new ObjectName(RunStatistics.OBJECT_NAME);
+        assertEquals(server.getAttribute(name, "StartedCount"), RunStatistics.getStartedCount());
+    }
+}
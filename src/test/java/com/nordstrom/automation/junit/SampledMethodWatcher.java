@@ -0,0 +1,32 @@
+package com.nordstrom.automation.junit;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.runners.model.FrameworkMethod;
+
+@SampledWatcher(firstPerMethod = 2)
+public class SampledMethodWatcher implements MethodWatcher {
+    
+    private static final List<String> m_invocations = Collections.synchronizedList(new ArrayList<>());
+    
+    @Override
+    public void beforeInvocation(Object target, FrameworkMethod method, Object... params) {
+        if (method.getDeclaringClass() == SampledWatcherCases.class) {
+            m_invocations.add("before:" + method.getName());
+        }
+    }
+
+    @Override
+    public void afterInvocation(Object target, FrameworkMethod method, Throwable thrown) {
+        if (method.getDeclaringClass() == SampledWatcherCases.class) {
+            m_invocations.add("after:" + method.getName());
+        }
+    }
+    
+    public static List<String> getInvocations() {
+        return m_invocations;
+    }
+    
+}
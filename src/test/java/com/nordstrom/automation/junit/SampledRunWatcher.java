@@ -0,0 +1,54 @@
+package com.nordstrom.automation.junit;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.internal.AssumptionViolatedException;
+import org.junit.runners.model.FrameworkMethod;
+import org.junit.runners.model.TestClass;
+
+/**
+ * This run watcher is sampled by the <b>junit.sampled.watchers</b> setting in the project POM.
+ */
+public class SampledRunWatcher implements RunWatcher {
+    
+    private static final List<String> m_notifications = Collections.synchronizedList(new ArrayList<>());
+    
+    @Override
+    public void testStarted(FrameworkMethod method, TestClass testClass) {
+        record("started", method);
+    }
+
+    @Override
+    public void testFinished(FrameworkMethod method, TestClass testClass) {
+        record("finished", method);
+    }
+
+    @Override
+    public void testFailure(FrameworkMethod method, TestClass testClass, Throwable thrown) {
+        record("failure", method);
+    }
+
+    @Override
+    public void testAssumptionFailure(FrameworkMethod method, TestClass testClass,
+                    AssumptionViolatedException thrown) {
+        record("assumption", method);
+    }
+
+    @Override
+    public void testIgnored(FrameworkMethod method, TestClass testClass) {
+        record("ignored", method);
+    }
+    
+    private static void record(String event, FrameworkMethod method) {
+        if (method.getDeclaringClass() == SampledWatcherCases.class) {
+            m_notifications.add(event + ":" + method.getName());
+        }
+    }
+    
+    public static List<String> getNotifications() {
+        return m_notifications;
+    }
+    
+}
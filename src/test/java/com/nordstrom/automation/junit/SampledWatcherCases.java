@@ -0,0 +1,14 @@
+package com.nordstrom.automation.junit;
+
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+public class SampledWatcherCases {
+    
+    @Test
+    public void sampledTest() {
+        assertTrue(true);
+    }
+    
+}
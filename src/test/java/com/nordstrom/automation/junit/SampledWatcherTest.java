@@ -0,0 +1,31 @@
+package com.nordstrom.automation.junit;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+import java.util.Arrays;
+
+import org.junit.runner.JUnitCore;
+import org.junit.runner.Result;
+import org.testng.annotations.Test;
+
+public class SampledWatcherTest {
+    
+    @Test
+    public void verifyWatcherSampling() {
+        SampledMethodWatcher.getInvocations().clear();
+        SampledRunWatcher.getNotifications().clear();
+        for (int i = 0; i < 4; i++) {
+            Result result = JUnitCore.runClasses(SampledWatcherCases.class);
+            assertTrue(result.wasSuccessful());
+        }
+        
+        // annotated policy: only the first 2 invocations of each method
+        assertEquals(SampledMethodWatcher.getInvocations(), Arrays.asList(
+                        "before:sampledTest", "after:sampledTest", "before:sampledTest", "after:sampledTest"));
+        
+        // configured policy: 1 of every 2 atomic tests, with matching start and finish
+        assertEquals(SampledRunWatcher.getNotifications(), Arrays.asList(
+                        "started:sampledTest", "finished:sampledTest", "started:sampledTest", "finished:sampledTest"));
+    }
+}
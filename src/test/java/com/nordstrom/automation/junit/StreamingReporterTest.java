@@ -0,0 +1,92 @@
+package com.nordstrom.automation.junit;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Collectors;
+
+import org.junit.runner.Description;
+import org.junit.runner.JUnitCore;
+import org.junit.runner.Result;
+import org.junit.runner.notification.Failure;
+import org.testng.annotations.Test;
+
+import com.nordstrom.automation.junit.JUnitConfig.JUnitSettings;
+
+public class StreamingReporterTest {
+    
+    @Test
+    public void verifyStreamingReport() throws IOException {
+        System.setProperty(JUnitSettings.MAX_RETRY.key(), "3");
+        JUnitConfig.refreshSnapshot();
+        try {
+            Result result = JUnitCore.runClasses(AutomaticRetryFailing.class, ArtifactCollectorFailing.class);
+            assertFalse(result.wasSuccessful());
+        } finally {
+            System.clearProperty(JUnitSettings.MAX_RETRY.key());
+            JUnitConfig.refreshSnapshot();
+        }
+        
+        List<String> lines = Files.readAllLines(StreamingReporter.getReportFile());
+        assertEquals(lines.get(0), "<?xml version=\"1.0\" encoding=\"UTF-8\"?>");
+        assertTrue(lines.get(1).matches("<testsuite name=\"JUnit Foundation\" tests=\"\\d+\" failures=\"\\d+\" "
+                + "errors=\"\\d+\" skipped=\"\\d+\" time=\"[\\d.]+\" *>"), "Test suite attributes not reported");
+        String xml = String.join("\n", lines);
+        
+        String retried = "<testcase classname=\"" + AutomaticRetryFailing.class.getName() + "\" name=\"testFailed\"";
+        int index = xml.lastIndexOf(retried);
+        assertTrue(index >= 0, "Retried test not reported");
+        String testcase = xml.substring(index, xml.indexOf("</testcase>", index));
+        assertTrue(testcase.contains("<failure "), "Final failure not reported");
+        assertTrue(testcase.contains("<rerunFailure "), "Retry attempt not reported");
+        
+        String failed = "<testcase classname=\"" + ArtifactCollectorFailing.class.getName() + "\" name=\"testFailed\"";
+        index = xml.lastIndexOf(failed);
+        assertTrue(index >= 0, "Failed test not reported");
+        testcase = xml.substring(index, xml.indexOf("</testcase>", index));
+        assertTrue(testcase.contains("<failure "), "Failure not reported");
+        assertTrue(testcase.contains("[[ATTACHMENT|"), "Artifact path not reported");
+        
+        String jsonClass = "\"class\":\"" + AutomaticRetryFailing.class.getName() + "\"";
+        Optional<String> json = Files.readAllLines(StreamingReporter.getJsonReportFile()).stream()
+                .filter(line -> line.contains(jsonClass)).reduce((first, second) -> second);
+        assertTrue(json.isPresent(), "Retried test not reported as JSON");
+        assertTrue(json.get().contains("\"status\":\"failure\""));
+        assertTrue(json.get().contains("\"retries\":[{"));
+    }
+    
+    @Test
+    public void verifyConcurrentEqualDescriptions() throws IOException, InterruptedException, ExecutionException {
+        StreamingReporter reporter = new StreamingReporter();
+        Description description = Description.createTestDescription(
+                        StreamingReporterTest.class.getName() + "$EqualDescriptions", "testEqual");
+        ExecutorService other = Executors.newSingleThreadExecutor();
+        try {
+            reporter.testStarted(description);
+            other.submit(() -> {
+                reporter.testStarted(description);
+                reporter.testFailure(new Failure(description, new AssertionError("other thread")));
+            }).get();
+            reporter.testFinished(description);
+            other.submit(() -> reporter.testFinished(description)).get();
+        } finally {
+            other.shutdown();
+        }
+        StreamingReporter.flush();
+        
+        String jsonClass = "\"class\":\"" + description.getClassName() + "\"";
+        List<String> json = Files.readAllLines(StreamingReporter.getJsonReportFile()).stream()
+                .filter(line -> line.contains(jsonClass)).collect(Collectors.toList());
+        assertEquals(json.size(), 2, "Results of concurrent tests collided");
+        assertEquals(json.stream().filter(line -> line.contains("\"status\":\"success\"")).count(), 1L);
+        assertEquals(json.stream().filter(line -> line.contains("\"status\":\"failure\"")).count(), 1L);
+    }
+}
@@ -0,0 +1,93 @@
+package com.nordstrom.automation.junit;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.instrument.ClassFileTransformer;
+import java.lang.instrument.Instrumentation;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Properties;
+
+import org.junit.runner.JUnitCore;
+import org.junit.runner.Request;
+import org.junit.runner.Result;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import com.nordstrom.automation.junit.JUnitConfig.JUnitSettings;
+
+import net.bytebuddy.agent.ByteBuddyAgent;
+
+public class TestImpactTest {
+    
+    private static String impactFile;
+    
+    @BeforeClass
+    public static void beforeClass() throws IOException {
+        impactFile = System.getProperty(JUnitSettings.IMPACT_FILE.key());
+        
+        String unchanged = ImpactUnchangedCases.class.getName();
+        String changed = ImpactChangedCases.class.getName();
+        ClassLoader classLoader = TestImpactTest.class.getClassLoader();
+        
+        Properties properties = new Properties();
+        properties.setProperty("deps." + unchanged, unchanged);
+        properties.setProperty("hash." + unchanged, TestImpact.getClassHash(classLoader, unchanged));
+        properties.setProperty("deps." + changed, changed);
+        properties.setProperty("hash." + changed, "stale");
+        
+        Path selectFile = Paths.get("target", "impact-select.properties").toAbsolutePath();
+        Files.createDirectories(selectFile.getParent());
+        try (OutputStream outputStream = Files.newOutputStream(selectFile)) {
+            properties.store(outputStream, null);
+        }
+        System.setProperty(JUnitSettings.IMPACT_FILE.key(), selectFile.toString());
+    }
+    
+    @Test
+    public void verifySelection() {
+        System.setProperty(JUnitSettings.IMPACT_SELECT.key(), "true");
+        try {
+            Result result = JUnitCore.runClasses(ImpactUnchangedCases.class);
+            assertTrue(result.wasSuccessful());
+            assertEquals(result.getRunCount(), 0, "Unaffected test class must be skipped");
+            assertTrue(Request.aClass(ImpactUnchangedCases.class).getRunner().getDescription().getChildren().isEmpty(),
+                            "Unaffected test class must not be described");
+            
+            result = JUnitCore.runClasses(ImpactChangedCases.class);
+            assertTrue(result.wasSuccessful());
+            assertEquals(result.getRunCount(), 1, "Affected test class must be run");
+        } finally {
+            System.clearProperty(JUnitSettings.IMPACT_SELECT.key());
+        }
+    }
+    
+    @Test
+    public void verifyRecording() {
+        Instrumentation instrumentation = ByteBuddyAgent.install();
+        ClassFileTransformer transformer = TestImpact.installTransformer(instrumentation);
+        try {
+            Result result = JUnitCore.runClasses(ImpactRecordCases.class);
+            assertTrue(result.wasSuccessful());
+            assertTrue(TestImpact.getDependencies(ImpactRecordCases.class.getName())
+                            .contains(ImpactTarget.class.getName()), "Touched class was not recorded");
+        } finally {
+            instrumentation.removeTransformer(transformer);
+        }
+    }
+    
+    @AfterClass
+    public static void afterClass() {
+        if (impactFile != null) {
+            System.setProperty(JUnitSettings.IMPACT_FILE.key(), impactFile);
+        } else {
+            System.clearProperty(JUnitSettings.IMPACT_FILE.key());
+        }
+    }
+    
+}
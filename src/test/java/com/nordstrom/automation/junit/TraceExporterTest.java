@@ -0,0 +1,41 @@
+package com.nordstrom.automation.junit;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.junit.runner.JUnitCore;
+import org.junit.runner.Result;
+import org.testng.annotations.Test;
+
+public class TraceExporterTest {
+    
+    @Test
+    public void verifyTraceEvents() throws IOException {
+        JUnitCore runner = new JUnitCore();
+        Result result = runner.run(HookInstallationTestCases.class);
+        assertTrue(result.wasSuccessful());
+        TraceExporter.flush();
+        
+        List<String> lines = Files.readAllLines(TraceExporter.getTraceFile());
+        assertEquals(lines.get(0), "[");
+        
+        List<String> testEvents = lines.stream()
+                .filter(line -> line.contains("\"name\":\"unitTestMethod\",\"cat\":\"test\""))
+                .collect(Collectors.toList());
+        long begins = testEvents.stream().filter(line -> line.contains("\"ph\":\"B\"")).count();
+        long ends = testEvents.stream().filter(line -> line.contains("\"ph\":\"E\"")).count();
+        assertTrue(begins > 0, "No test begin events");
+        assertEquals(ends, begins, "Unbalanced test events");
+        
+        String className = HookInstallationTestCases.class.getName();
+        assertTrue(lines.stream().anyMatch(line -> line.contains("\"name\":\"" + className + "\",\"cat\":\"class\"")));
+        assertTrue(lines.stream().anyMatch(line -> line.contains("\"name\":\"" + className + "\",\"cat\":\"suite\"")));
+        assertTrue(lines.stream().anyMatch(line -> line.contains("\"name\":\"unitTestBeforeMethod\",\"cat\":\"fixture\"")));
+        assertTrue(lines.stream().anyMatch(line -> line.contains("\"name\":\"thread_name\"")));
+    }
+}
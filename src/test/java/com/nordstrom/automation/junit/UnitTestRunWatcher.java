@@ -0,0 +1,58 @@
+package com.nordstrom.automation.junit;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.junit.internal.AssumptionViolatedException;
+import org.junit.runners.model.FrameworkMethod;
+import org.junit.runners.model.TestClass;
+
+public class UnitTestRunWatcher implements RunWatcher {
+    
+    private static final List<String> m_startedTests = Collections.synchronizedList(new ArrayList<>());
+    private static final List<String> m_finishedTests = Collections.synchronizedList(new ArrayList<>());
+    private static final Map<String, Throwable> m_failedTests = new ConcurrentHashMap<>();
+    
+    @Override
+    public void testStarted(FrameworkMethod method, TestClass testClass) {
+        m_startedTests.add(getTestName(method, testClass));
+    }
+
+    @Override
+    public void testFinished(FrameworkMethod method, TestClass testClass) {
+        m_finishedTests.add(getTestName(method, testClass));
+    }
+
+    @Override
+    public void testFailure(FrameworkMethod method, TestClass testClass, Throwable thrown) {
+        m_failedTests.put(getTestName(method, testClass), thrown);
+    }
+
+    @Override
+    public void testAssumptionFailure(FrameworkMethod method, TestClass testClass,
+                    AssumptionViolatedException thrown) {
+    }
+
+    @Override
+    public void testIgnored(FrameworkMethod method, TestClass testClass) {
+    }
+    
+    public static List<String> getStartedTests() {
+        return m_startedTests;
+    }
+    
+    public static List<String> getFinishedTests() {
+        return m_finishedTests;
+    }
+    
+    public static Map<String, Throwable> getFailedTests() {
+        return m_failedTests;
+    }
+    
+    private static String getTestName(FrameworkMethod method, TestClass testClass) {
+        return testClass.getJavaClass().getSimpleName() + "." + method.getName();
+    }
+}